@@ -0,0 +1,73 @@
+package com.example.springproxybeans.benchmark;
+
+import com.example.springproxybeans.RequestAttributeKey;
+import com.example.springproxybeans.TypedAttributeStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// One request's worth of typed attributes (two longs, an int, a double and a String, each written once and
+// read twice) in a fresh TypedAttributeStore against a fresh HashMap of request attributes.
+// Run with -prof gc for the per-request footprint.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AttributeStoreBenchmark {
+
+    private static final RequestAttributeKey.LongKey USER_ID = RequestAttributeKey.ofLong("user-id");
+    private static final RequestAttributeKey.LongKey RECEIVED_AT = RequestAttributeKey.ofLong("received-at");
+    private static final RequestAttributeKey.IntKey RETRIES = RequestAttributeKey.ofInt("retries");
+    private static final RequestAttributeKey.DoubleKey SCORE = RequestAttributeKey.ofDouble("score");
+    private static final RequestAttributeKey.ObjectKey<String> TENANT = RequestAttributeKey.of("tenant", String.class);
+
+    long userId = 123_456_789L;
+    long receivedAt = 1_700_000_000_000L;
+    int retries = 3;
+    double score = 0.75;
+    String tenant = "acme";
+
+    @Benchmark
+    public double typedStore() {
+        TypedAttributeStore store = new TypedAttributeStore();
+        store.setLong(USER_ID, userId);
+        store.setLong(RECEIVED_AT, receivedAt);
+        store.setInt(RETRIES, retries);
+        store.setDouble(SCORE, score);
+        store.set(TENANT, tenant);
+        double sum = 0;
+        for (int i = 0; i < 2; i++) {
+            sum += store.getLong(USER_ID, 0L) + store.getLong(RECEIVED_AT, 0L) + store.getInt(RETRIES, 0)
+                    + store.getDouble(SCORE, 0.0) + store.get(TENANT).length();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double attributeMap() {
+        Map<String, Object> store = new HashMap<>();
+        store.put("user-id", userId);
+        store.put("received-at", receivedAt);
+        store.put("retries", retries);
+        store.put("score", score);
+        store.put("tenant", tenant);
+        double sum = 0;
+        for (int i = 0; i < 2; i++) {
+            sum += (Long) store.get("user-id") + (Long) store.get("received-at") + (Integer) store.get("retries")
+                    + (Double) store.get("score") + ((String) store.get("tenant")).length();
+        }
+        return sum;
+    }
+}
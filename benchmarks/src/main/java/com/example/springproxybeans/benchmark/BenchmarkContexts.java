@@ -0,0 +1,69 @@
+package com.example.springproxybeans.benchmark;
+
+import com.example.springproxybeans.DataService;
+import com.example.springproxybeans.FanOutProperties;
+import com.example.springproxybeans.MemoCache;
+import com.example.springproxybeans.MemoProperties;
+import com.example.springproxybeans.RequestFanOut;
+import com.example.springproxybeans.RequestScopeMetrics;
+import com.example.springproxybeans.RequestScopeMetricsPostProcessor;
+import com.example.springproxybeans.RequestScopeProperties;
+import com.example.springproxybeans.RequestScopeSnapshots;
+import com.example.springproxybeans.RequestScopedDataHolder;
+import com.example.springproxybeans.RequestScopedDataHolderPool;
+import com.example.springproxybeans.RequestScopedDataHolderPoolConfiguration;
+import com.example.springproxybeans.RequestScopedDataHolderPoolPostProcessor;
+import com.example.springproxybeans.ScopedAccessorRegistrar;
+import com.example.springproxybeans.SlotRequestScope;
+import com.example.springproxybeans.SlotScopedProxyPostProcessor;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.request.RequestScope;
+
+final class BenchmarkContexts {
+
+    private BenchmarkContexts() {
+    }
+
+    // Mirrors the beans the web application wires, minus the servlet container.
+    static AnnotationConfigApplicationContext create() {
+        return create(null, new RequestScopeProperties());
+    }
+
+    // With a slot scope, it replaces the request scope the same way SlotRequestScopeConfiguration does;
+    // with pooling, metrics or accessors enabled in the properties, it adds the beans of
+    // RequestScopedDataHolderPoolConfiguration, RequestScopeMetricsConfiguration or ScopedAccessorConfiguration.
+    static AnnotationConfigApplicationContext create(SlotRequestScope slotRequestScope,
+                                                     RequestScopeProperties properties) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.registerBean(RequestScopeProperties.class, () -> properties);
+        context.getBeanFactory().registerScope(WebApplicationContext.SCOPE_REQUEST, new RequestScope());
+        context.registerBean(FanOutProperties.class);
+        context.registerBean(MemoProperties.class);
+        if (slotRequestScope != null) {
+            context.registerBean(SlotRequestScope.class, () -> slotRequestScope);
+            context.addBeanFactoryPostProcessor(slotRequestScope::register);
+            context.registerBean(SlotScopedProxyPostProcessor.class,
+                    () -> new SlotScopedProxyPostProcessor(slotRequestScope));
+        }
+        if (properties.getPool().isEnabled()) {
+            RequestScopedDataHolderPool pool = new RequestScopedDataHolderPool(properties.getPool().getCapacity());
+            context.registerBean(RequestScopedDataHolderPool.class, () -> pool);
+            context.addBeanFactoryPostProcessor(RequestScopedDataHolderPoolConfiguration.requestScopedDataHolderPoolRegistrar());
+            context.registerBean(RequestScopedDataHolderPoolPostProcessor.class,
+                    () -> new RequestScopedDataHolderPoolPostProcessor(() -> pool));
+        }
+        if (properties.getMetrics().isEnabled()) {
+            RequestScopeMetrics metrics = new RequestScopeMetrics();
+            context.registerBean(RequestScopeMetrics.class, () -> metrics);
+            context.registerBean(RequestScopeMetricsPostProcessor.class, () -> new RequestScopeMetricsPostProcessor(metrics));
+        }
+        if (properties.getAccessors().isEnabled()) {
+            context.addBeanFactoryPostProcessor(new ScopedAccessorRegistrar());
+        }
+        context.register(RequestScopedDataHolder.class, InterfaceRequestScopedDataHolder.class,
+                RequestScopeSnapshots.class, RequestFanOut.class, MemoCache.class, DataService.class);
+        context.refresh();
+        return context;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.springproxybeans.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+// Runs the selected benchmarks at 1, N-core and oversubscribed thread counts, one JSON result file per count.
+// Standard JMH options are accepted; -Dbenchmark.threads=1,8,32 and -Dbenchmark.results=dir override the defaults.
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        Path resultDir = Paths.get(System.getProperty("benchmark.results", "target/jmh-results"));
+        Files.createDirectories(resultDir);
+
+        for (int threads : threadCounts()) {
+            Path result = resultDir.resolve("threads-" + threads + ".json");
+            Options options = new OptionsBuilder()
+                    .parent(commandLine)
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(result.toString())
+                    .build();
+            new Runner(options).run();
+            System.out.println("Wrote " + result.toAbsolutePath());
+        }
+    }
+
+    static int[] threadCounts() {
+        String configured = System.getProperty("benchmark.threads");
+        if (configured != null) {
+            return Arrays.stream(configured.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        return Arrays.stream(new int[] {1, cores, cores * 4}).distinct().toArray();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.springproxybeans.benchmark;
+
+import com.example.springproxybeans.ConversationStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Reading, missing and writing one conversation record of the memory-mapped store, half full with 100-byte
+// payloads. With churned=true the table first went through two capacities' worth of conversations created and
+// removed, the steady state of a long-running server. Run with -prof gc for bytes allocated per operation; a read
+// returns a copy of the payload.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConversationStoreBenchmark {
+
+    private static final int CAPACITY = 1 << 16;
+    private static final int CONVERSATIONS = CAPACITY / 2;
+
+    @Param({"false", "true"})
+    boolean churned;
+
+    Path file;
+    ConversationStore store;
+    String[] keys;
+    final ByteBuffer payload = ByteBuffer.allocate(100);
+
+    @Setup
+    public void open() throws IOException {
+        file = Files.createTempFile("conversations", ".dat");
+        Files.delete(file);
+        store = ConversationStore.open(file, CAPACITY, 512);
+        if (churned) {
+            for (int i = 0; i < CAPACITY * 2; i++) {
+                store.write("churn-" + i + "/scopedTarget.conversationDataHolder", payload.clear());
+                if (i >= CONVERSATIONS) {
+                    store.remove("churn-" + (i - CONVERSATIONS) + "/scopedTarget.conversationDataHolder");
+                }
+            }
+            store.evictIdle(-1);
+        }
+        keys = new String[CONVERSATIONS];
+        for (int i = 0; i < CONVERSATIONS; i++) {
+            keys[i] = "conversation-" + i + "/scopedTarget.conversationDataHolder";
+            store.write(keys[i], payload.clear());
+        }
+    }
+
+    @TearDown
+    public void close() throws IOException {
+        store.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public ByteBuffer read() {
+        return store.read(keys[ThreadLocalRandom.current().nextInt(CONVERSATIONS)]);
+    }
+
+    @Benchmark
+    public ByteBuffer miss() {
+        return store.read("missing-" + ThreadLocalRandom.current().nextInt(CONVERSATIONS) + "/scopedTarget.conversationDataHolder");
+    }
+
+    @Benchmark
+    public void write() {
+        store.write(keys[ThreadLocalRandom.current().nextInt(CONVERSATIONS)], payload.duplicate().clear());
+    }
+}
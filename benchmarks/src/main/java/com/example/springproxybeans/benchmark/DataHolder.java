@@ -0,0 +1,10 @@
+package com.example.springproxybeans.benchmark;
+
+public interface DataHolder {
+
+    String getData();
+
+    void setData(String data);
+
+    String getRequestInfo();
+}
@@ -0,0 +1,72 @@
+package com.example.springproxybeans.benchmark;
+
+import com.example.springproxybeans.DataController;
+import com.example.springproxybeans.DataRequestParser;
+import com.example.springproxybeans.DataRequestTooLargeException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Parsing one POST /api/data body with Jackson databind (as the default converter does) and with
+// DataRequestParser, for a small body, a 4 KB body, and an adversarial 1 MB body that is over the
+// default 64 KB limit. Run with -prof gc for bytes allocated per body.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataRequestParsingBenchmark {
+
+    @Param({"small", "medium", "adversarial"})
+    String payload;
+
+    byte[] body;
+    ObjectReader databind;
+    DataRequestParser parser;
+
+    @Setup
+    public void create() {
+        int dataLength = switch (payload) {
+            case "small" -> 16;
+            case "medium" -> 4 * 1024;
+            default -> 1024 * 1024;
+        };
+        body = ("{\"data\":\"" + "x".repeat(dataLength) + "\"}").getBytes(StandardCharsets.UTF_8);
+        // Configured like the Spring Boot ObjectMapper.
+        ObjectMapper objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        databind = objectMapper.readerFor(DataController.DataRequest.class);
+        parser = new DataRequestParser(objectMapper.getFactory(), 64 * 1024);
+    }
+
+    @Benchmark
+    public Object databind() throws IOException {
+        return databind.readValue(new ByteArrayInputStream(body));
+    }
+
+    // The adversarial body is rejected; that outcome is what is measured.
+    @Benchmark
+    public Object streaming() throws IOException {
+        try {
+            return parser.parse(new ByteArrayInputStream(body), -1);
+        } catch (DataRequestTooLargeException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.springproxybeans.benchmark;
+
+import com.example.springproxybeans.DataService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+// DataService calls under a simulated RequestContextHolder, as DataController makes them.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Service {
+
+        AnnotationConfigApplicationContext context;
+        DataService dataService;
+
+        @Setup
+        public void start() {
+            context = BenchmarkContexts.create();
+            dataService = context.getBean(DataService.class);
+        }
+
+        @TearDown
+        public void stop() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public void setDataForCurrentRequest(Service service, SimulatedRequest request) {
+        service.dataService.setDataForCurrentRequest("benchmark");
+    }
+
+    @Benchmark
+    public boolean hasDataInCurrentRequest(Service service, SimulatedRequest request) {
+        return service.dataService.hasDataInCurrentRequest();
+    }
+
+    @Benchmark
+    public String getDataFromCurrentRequest(Service service, SimulatedRequest request) {
+        return service.dataService.getDataFromCurrentRequest();
+    }
+
+    // A whole request: bind, POST-style write, GET-style reads, completion and unbind.
+    @Benchmark
+    public void fullRequest(Service service, Blackhole blackhole) {
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        try {
+            service.dataService.setDataForCurrentRequest("benchmark");
+            blackhole.consume(service.dataService.hasDataInCurrentRequest());
+            blackhole.consume(service.dataService.getDataFromCurrentRequest());
+        } finally {
+            attributes.requestCompleted();
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.springproxybeans.benchmark;
+
+import com.example.springproxybeans.DataService;
+import com.example.springproxybeans.RequestScopeProperties;
+import com.example.springproxybeans.RequestScopedDataHolderPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+// A writing request: bind a request, set data through DataService, complete the request.
+// Run with -prof gc to compare allocation per request with and without the holder pool.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HolderPoolBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Service {
+
+        @Param({"false", "true"})
+        boolean pooled;
+
+        AnnotationConfigApplicationContext context;
+        DataService dataService;
+
+        @Setup
+        public void start() {
+            RequestScopeProperties properties = new RequestScopeProperties();
+            properties.getPool().setEnabled(pooled);
+            context = BenchmarkContexts.create(null, properties);
+            dataService = context.getBean(DataService.class);
+        }
+
+        @TearDown
+        public void stop() {
+            if (pooled) {
+                RequestScopedDataHolderPool.Stats stats = context.getBean(RequestScopedDataHolderPool.class).stats();
+                System.out.printf("%nPool hit rate %.4f, drops %d, double releases %d%n",
+                        stats.hitRate(), stats.drops(), stats.doubleReleases());
+            }
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public String writeRequest(Service service) {
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        try {
+            service.dataService.setDataForCurrentRequest("value");
+            return service.dataService.getDataFromCurrentRequest();
+        } finally {
+            attributes.requestCompleted();
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.springproxybeans.benchmark;
+
+import com.example.springproxybeans.RequestScopedDataHolder;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.web.context.WebApplicationContext;
+
+// Same target as the application bean, but proxied through a JDK interface proxy instead of CGLIB.
+@Scope(value = WebApplicationContext.SCOPE_REQUEST, proxyMode = ScopedProxyMode.INTERFACES)
+public class InterfaceRequestScopedDataHolder extends RequestScopedDataHolder implements DataHolder {
+}
@@ -0,0 +1,67 @@
+package com.example.springproxybeans.benchmark;
+
+import com.example.springproxybeans.DataService;
+import com.example.springproxybeans.RequestScopeProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+// A read-only GET: bind a request, ask DataService whether data was set, complete the request.
+// Run with -prof gc to see the holder allocation disappear when lazyReads=true.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyReadBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Service {
+
+        @Param({"false", "true"})
+        boolean lazyReads;
+
+        AnnotationConfigApplicationContext context;
+        DataService dataService;
+
+        @Setup
+        public void start() {
+            RequestScopeProperties properties = new RequestScopeProperties();
+            properties.setLazyReads(lazyReads);
+            context = BenchmarkContexts.create(null, properties);
+            dataService = context.getBean(DataService.class);
+        }
+
+        @TearDown
+        public void stop() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public boolean readOnlyRequest(Service service) {
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        try {
+            return service.dataService.hasDataInCurrentRequest();
+        } finally {
+            attributes.requestCompleted();
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
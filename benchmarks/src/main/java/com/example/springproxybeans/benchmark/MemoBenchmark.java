@@ -0,0 +1,60 @@
+package com.example.springproxybeans.benchmark;
+
+import com.example.springproxybeans.DataService;
+import com.example.springproxybeans.MemoCache;
+import com.example.springproxybeans.MemoProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// A repeated memoized lookup within one request: DataService.memoize answered by the request tier, against
+// a lookup in the shared Caffeine tier alone. Run with more threads to see contention on the shared tier.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MemoBenchmark {
+
+    private static final String KEY = "report:42";
+    private static final Supplier<String> LOADER = () -> "expensive-result";
+
+    AnnotationConfigApplicationContext context;
+    DataService dataService;
+    MemoCache sharedOnly;
+
+    @Setup
+    public void start() {
+        context = BenchmarkContexts.create();
+        dataService = context.getBean(DataService.class);
+        sharedOnly = new MemoCache(new MemoProperties());
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public String requestTier(SimulatedRequest request) {
+        return dataService.memoize(KEY, String.class, LOADER);
+    }
+
+    @Benchmark
+    public String sharedTierOnly(SimulatedRequest request) {
+        return sharedOnly.get(null, KEY, String.class, LOADER);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.springproxybeans.benchmark;
+
+import com.example.springproxybeans.DataService;
+import com.example.springproxybeans.RequestScopeProperties;
+import com.example.springproxybeans.RequestScopedDataHolder;
+import com.example.springproxybeans.RequestSlots;
+import com.example.springproxybeans.SlotRequestScope;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+// Per-call cost of the default attribute-backed request scope against SlotRequestScope.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestScopeStoreBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Beans {
+
+        @Param({"attributes", "slots"})
+        String store;
+
+        AnnotationConfigApplicationContext context;
+        SlotRequestScope slotRequestScope;
+        RequestScopedDataHolder holder;
+        DataService dataService;
+
+        @Setup
+        public void start() {
+            slotRequestScope = "slots".equals(store) ? new SlotRequestScope() : null;
+            context = BenchmarkContexts.create(slotRequestScope, new RequestScopeProperties());
+            holder = context.getBean("requestScopedDataHolder", RequestScopedDataHolder.class);
+            dataService = context.getBean(DataService.class);
+        }
+
+        @TearDown
+        public void stop() {
+            context.close();
+        }
+
+        void open(Request request) {
+            request.attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+            RequestContextHolder.setRequestAttributes(request.attributes);
+            if (slotRequestScope != null) {
+                request.slots = slotRequestScope.newSlots();
+                slotRequestScope.bind(request.slots);
+            }
+        }
+
+        void close(Request request) {
+            if (slotRequestScope != null) {
+                slotRequestScope.unbind(null);
+                request.slots.close();
+            }
+            request.attributes.requestCompleted();
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Request {
+
+        ServletRequestAttributes attributes;
+        RequestSlots slots;
+
+        @Setup(Level.Iteration)
+        public void bind(Beans beans) {
+            beans.open(this);
+        }
+
+        @TearDown(Level.Iteration)
+        public void unbind(Beans beans) {
+            beans.close(this);
+        }
+    }
+
+    @Benchmark
+    public String proxiedGetData(Beans beans, Request request) {
+        return beans.holder.getData();
+    }
+
+    // DataController.getData on a GET with data: hasData + getRequestInfo, two scope resolutions.
+    @Benchmark
+    public String getWithData(Beans beans, Request request) {
+        beans.holder.setData("benchmark");
+        return beans.dataService.hasDataInCurrentRequest() ? beans.dataService.getDataFromCurrentRequest() : null;
+    }
+
+    @Benchmark
+    public void fullRequest(Beans beans, Blackhole blackhole) {
+        Request request = new Request();
+        beans.open(request);
+        try {
+            beans.dataService.setDataForCurrentRequest("benchmark");
+            blackhole.consume(beans.dataService.hasDataInCurrentRequest());
+            blackhole.consume(beans.dataService.getDataFromCurrentRequest());
+        } finally {
+            beans.close(request);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.springproxybeans.benchmark;
+
+import com.example.springproxybeans.EncodedText;
+import com.example.springproxybeans.RequestScopedDataHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Encoding one /api/data response body into a reused buffer standing in for the servlet output buffer:
+// String concatenation plus getBytes(UTF_8), as the String message converter does, against EncodedText.
+// Run with -prof gc for bytes allocated per response.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ResponseEncodingBenchmark {
+
+    private static final String DATA_SET = "Data set for current request: ";
+    private static final byte[] DATA_SET_BYTES = EncodedText.encode(DATA_SET);
+
+    @Param({"ascii", "non-ascii"})
+    String payload;
+
+    String data;
+    RequestScopedDataHolder holder;
+    final ServletBuffer out = new ServletBuffer();
+
+    @Setup
+    public void create() {
+        data = "ascii".equals(payload) ? "benchmark-value-0123456789" : "café-日本語-данные";
+        holder = new RequestScopedDataHolder();
+        holder.setData(data);
+    }
+
+    @Benchmark
+    public int postResponseString() throws IOException {
+        out.reset();
+        out.write((DATA_SET + data).getBytes(StandardCharsets.UTF_8));
+        return out.size;
+    }
+
+    @Benchmark
+    public int postResponseEncoded() throws IOException {
+        out.reset();
+        EncodedText.of(DATA_SET_BYTES, data).writeTo(out);
+        return out.size;
+    }
+
+    @Benchmark
+    public int getResponseString() throws IOException {
+        out.reset();
+        out.write(holder.getRequestInfo().getBytes(StandardCharsets.UTF_8));
+        return out.size;
+    }
+
+    @Benchmark
+    public int getResponseEncoded() throws IOException {
+        out.reset();
+        holder.writeRequestInfo(out);
+        return out.size;
+    }
+
+    static final class ServletBuffer extends OutputStream {
+
+        final byte[] bytes = new byte[8192];
+        int size;
+
+        void reset() {
+            size = 0;
+        }
+
+        @Override
+        public void write(int b) {
+            bytes[size++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] source, int offset, int length) {
+            System.arraycopy(source, offset, bytes, size, length);
+            size += length;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.springproxybeans.benchmark;
+
+import com.example.springproxybeans.RequestScopeMetrics;
+import com.example.springproxybeans.RequestScopeProperties;
+import com.example.springproxybeans.RequestScopedDataHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+// Cost of one proxied getData() call with request scope metrics disabled and enabled.
+// Disabled registers no instrumentation at all, so it should match ScopedProxyDispatchBenchmark.cglibScopedProxy.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScopeMetricsBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Beans {
+
+        @Param({"false", "true"})
+        boolean metrics;
+
+        AnnotationConfigApplicationContext context;
+        RequestScopedDataHolder proxy;
+
+        @Setup
+        public void start() {
+            RequestScopeProperties properties = new RequestScopeProperties();
+            properties.getMetrics().setEnabled(metrics);
+            context = BenchmarkContexts.create(null, properties);
+            proxy = context.getBean("requestScopedDataHolder", RequestScopedDataHolder.class);
+        }
+
+        @TearDown
+        public void stop() {
+            if (metrics) {
+                System.out.printf("%n%s%n", context.getBean(RequestScopeMetrics.class).snapshot().resolution());
+            }
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public String proxiedRead(Beans beans, SimulatedRequest request) {
+        return beans.proxy.getData();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.springproxybeans.benchmark;
+
+import com.example.springproxybeans.RequestScopeProperties;
+import com.example.springproxybeans.RequestScopedDataHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+// Cost of one getData() call on the request-scoped holder through the CGLIB scoped proxy
+// (accessors=false) and through the generated RequestScopedDataHolderScopedAccessor (accessors=true).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScopedAccessorBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Beans {
+
+        @Param({"false", "true"})
+        boolean accessors;
+
+        AnnotationConfigApplicationContext context;
+        RequestScopedDataHolder holder;
+
+        @Setup
+        public void start() {
+            RequestScopeProperties properties = new RequestScopeProperties();
+            properties.getAccessors().setEnabled(accessors);
+            context = BenchmarkContexts.create(null, properties);
+            holder = context.getBean("requestScopedDataHolder", RequestScopedDataHolder.class);
+        }
+
+        @TearDown
+        public void stop() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public String getData(Beans beans, SimulatedRequest request) {
+        return beans.holder.getData();
+    }
+}
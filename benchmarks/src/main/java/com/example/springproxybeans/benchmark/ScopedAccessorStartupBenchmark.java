@@ -0,0 +1,55 @@
+package com.example.springproxybeans.benchmark;
+
+import com.example.springproxybeans.RequestScopeProperties;
+import com.example.springproxybeans.RequestScopedDataHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+// Cold start of the request-scope beans, once per fresh JVM: refreshing the context and resolving the
+// holder, with CGLIB scoped proxies (accessors=false) or the generated accessors (accessors=true).
+// The classes loaded by that first start are printed per fork.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@State(Scope.Benchmark)
+public class ScopedAccessorStartupBenchmark {
+
+    @Param({"false", "true"})
+    boolean accessors;
+
+    long loadedClasses = -1;
+
+    @Benchmark
+    public Object start() {
+        long before = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount();
+        RequestScopeProperties properties = new RequestScopeProperties();
+        properties.getAccessors().setEnabled(accessors);
+        try (AnnotationConfigApplicationContext context = BenchmarkContexts.create(null, properties)) {
+            Object holder = context.getBean("requestScopedDataHolder", RequestScopedDataHolder.class);
+            if (loadedClasses < 0) {
+                loadedClasses = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount() - before;
+            }
+            return holder;
+        }
+    }
+
+    @TearDown
+    public void report() {
+        System.out.printf("%nClasses loaded by the first start (accessors=%s): %d%n", accessors, loadedClasses);
+    }
+}
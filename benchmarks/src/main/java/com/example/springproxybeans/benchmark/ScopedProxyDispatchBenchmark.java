@@ -0,0 +1,88 @@
+package com.example.springproxybeans.benchmark;
+
+import com.example.springproxybeans.RequestScopedDataHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+// Cost of one getData() call on the request-scoped holder through each dispatch strategy.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScopedProxyDispatchBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Beans {
+
+        AnnotationConfigApplicationContext context;
+        RequestScopedDataHolder cglibProxy;
+        DataHolder jdkProxy;
+
+        @Setup
+        public void start() {
+            context = BenchmarkContexts.create();
+            cglibProxy = context.getBean("requestScopedDataHolder", RequestScopedDataHolder.class);
+            jdkProxy = context.getBean(DataHolder.class);
+        }
+
+        @TearDown
+        public void stop() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Holders {
+
+        private static final ThreadLocal<RequestScopedDataHolder> CURRENT = new ThreadLocal<>();
+
+        RequestScopedDataHolder direct;
+
+        @Setup(Level.Iteration)
+        public void create() {
+            direct = new RequestScopedDataHolder();
+            direct.setData("benchmark");
+            CURRENT.set(new RequestScopedDataHolder());
+            CURRENT.get().setData("benchmark");
+        }
+
+        @TearDown(Level.Iteration)
+        public void clear() {
+            CURRENT.remove();
+        }
+    }
+
+    @Benchmark
+    public String direct(Holders holders) {
+        return holders.direct.getData();
+    }
+
+    @Benchmark
+    public String threadLocal(Holders holders) {
+        return Holders.CURRENT.get().getData();
+    }
+
+    @Benchmark
+    public String cglibScopedProxy(Beans beans, SimulatedRequest request) {
+        return beans.cglibProxy.getData();
+    }
+
+    @Benchmark
+    public String jdkInterfaceProxy(Beans beans, SimulatedRequest request) {
+        return beans.jdkProxy.getData();
+    }
+}
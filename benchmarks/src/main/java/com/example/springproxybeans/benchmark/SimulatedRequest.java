@@ -0,0 +1,29 @@
+package com.example.springproxybeans.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+// One long-lived request bound to each benchmark thread, the way DispatcherServlet binds it per request.
+@State(Scope.Thread)
+public class SimulatedRequest {
+
+    ServletRequestAttributes attributes;
+
+    @Setup(Level.Iteration)
+    public void bind() {
+        attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+    }
+
+    @TearDown(Level.Iteration)
+    public void unbind() {
+        attributes.requestCompleted();
+        RequestContextHolder.resetRequestAttributes();
+    }
+}
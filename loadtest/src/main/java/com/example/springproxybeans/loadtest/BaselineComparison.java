@@ -0,0 +1,63 @@
+package com.example.springproxybeans.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Compares a run with a committed baseline of the same mode and load settings. Throughput may drop and corrected p50/p99 latency may
+// rise by at most maxRegression (a fraction) before the run counts as a regression.
+public class BaselineComparison {
+
+    private static final String[] SETTINGS = {"mode", "targetRate", "concurrency", "postRatio"};
+
+    private final JsonNode baseline;
+    private final double maxRegression;
+
+    public BaselineComparison(JsonNode baseline, double maxRegression) {
+        this.baseline = baseline;
+        this.maxRegression = maxRegression;
+    }
+
+    /**
+     * Returns one line per regressed metric, or an empty list if the run is within bounds.
+     */
+    public List<String> regressions(JsonNode current) {
+        List<String> regressions = new ArrayList<>();
+        for (String setting : SETTINGS) {
+            if (!baseline.path(setting).equals(current.path(setting))) {
+                regressions.add(setting + ": " + current.path(setting) + " is not comparable with baseline "
+                        + baseline.path(setting));
+            }
+        }
+        if (!regressions.isEmpty()) {
+            return regressions;
+        }
+        checkNotLower(regressions, "throughputPerSecond", baseline.path("throughputPerSecond").asDouble(),
+                current.path("throughputPerSecond").asDouble());
+        for (String percentile : new String[] {"p50", "p99"}) {
+            checkNotHigher(regressions, "latencyMillis." + percentile,
+                    baseline.path("latencyMillis").path(percentile).asDouble(),
+                    current.path("latencyMillis").path(percentile).asDouble());
+        }
+        return regressions;
+    }
+
+    private void checkNotLower(List<String> regressions, String metric, double expected, double actual) {
+        if (actual < expected * (1 - maxRegression)) {
+            regressions.add(describe(metric, expected, actual));
+        }
+    }
+
+    private void checkNotHigher(List<String> regressions, String metric, double expected, double actual) {
+        if (actual > expected * (1 + maxRegression)) {
+            regressions.add(describe(metric, expected, actual));
+        }
+    }
+
+    private String describe(String metric, double expected, double actual) {
+        return String.format(Locale.ROOT, "%s: %.3f against baseline %.3f (%+.1f%%, allowed %.0f%%)",
+                metric, actual, expected, (actual / expected - 1) * 100, maxRegression * 100);
+    }
+}
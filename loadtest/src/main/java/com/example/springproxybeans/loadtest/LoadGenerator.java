@@ -0,0 +1,144 @@
+package com.example.springproxybeans.loadtest;
+
+import com.example.springproxybeans.loadtest.LoadResult.Operation;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Drives the /api/data POST/GET mix with the non-blocking JDK HTTP client and checks every response: a POST must
+// echo its own data and a GET must see none, since no request may observe another request's holder. A 503 counts
+// as a rejection only with the Retry-After header the concurrency limiter sends; without it, it is an error.
+public class LoadGenerator {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofMinutes(1);
+    private static final String NO_DATA = "No data set for current request";
+    private static final String DATA_SET_PREFIX = "Data set for current request: ";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(REQUEST_TIMEOUT)
+            .build();
+
+    private final URI uri;
+    private final double postRatio;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public LoadGenerator(URI uri, double postRatio) {
+        this.uri = uri;
+        this.postRatio = postRatio;
+    }
+
+    /**
+     * Sends at a fixed rate whatever the responses, so a slow server cannot slow the load down. Latency is
+     * measured from each request's scheduled send time, which also covers the time the sender itself fell behind.
+     */
+    public LoadResult openLoop(double ratePerSecond, Duration duration) throws TimeoutException {
+        LoadResult result = new LoadResult();
+        LongAdder outstanding = new LongAdder();
+        double intervalNanos = 1e9 / ratePerSecond;
+        long count = (long) (duration.toNanos() / intervalNanos);
+        long start = System.nanoTime();
+        for (long i = 0; i < count; i++) {
+            long scheduled = start + (long) (i * intervalNanos);
+            long wait;
+            while ((wait = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            outstanding.increment();
+            long sent = System.nanoTime();
+            send((operation, completed) -> result.recordScheduled(operation, completed - scheduled, completed - sent),
+                    result).whenComplete((ignored, e) -> outstanding.decrement());
+        }
+        drain(outstanding);
+        result.setElapsedNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Keeps {@code concurrency} requests in flight, each connection sending its next request when the previous
+     * one completes. A positive {@code expectedIntervalNanos} (the usual service time) corrects for the requests a
+     * connection could not send while it waited on a slow response.
+     */
+    public LoadResult closedLoop(int concurrency, Duration duration, long expectedIntervalNanos)
+            throws TimeoutException {
+        LoadResult result = new LoadResult();
+        LongAdder outstanding = new LongAdder();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (int i = 0; i < concurrency; i++) {
+            outstanding.increment();
+            sendUntil(end, expectedIntervalNanos, result, outstanding);
+        }
+        drain(outstanding);
+        result.setElapsedNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    private void sendUntil(long end, long expectedIntervalNanos, LoadResult result, LongAdder outstanding) {
+        long sent = System.nanoTime();
+        send((operation, completed) -> result.recordWithExpectedInterval(operation, completed - sent,
+                expectedIntervalNanos), result).whenComplete((ignored, e) -> {
+                    if (System.nanoTime() < end) {
+                        sendUntil(end, expectedIntervalNanos, result, outstanding);
+                    } else {
+                        outstanding.decrement();
+                    }
+                });
+    }
+
+    private CompletableFuture<Void> send(Recorder recorder, LoadResult result) {
+        boolean post = ThreadLocalRandom.current().nextDouble() < postRatio;
+        Operation operation = post ? Operation.POST : Operation.GET;
+        String data = post ? "load-" + sequence.incrementAndGet() : null;
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT);
+        if (post) {
+            request.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"data\":\"" + data + "\"}"));
+        } else {
+            request.GET();
+        }
+        String expected = post ? DATA_SET_PREFIX + data : NO_DATA;
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString())
+                .handle((response, e) -> {
+                    long completed = System.nanoTime();
+                    if (e != null) {
+                        result.recordError(operation + ": " + e);
+                    } else if (response.statusCode() == 503
+                            && response.headers().firstValue("Retry-After").isPresent()) {
+                        result.recordRejected();
+                    } else if (response.statusCode() != 200 || !expected.equals(response.body())) {
+                        result.recordError(operation + ": expected '" + expected + "', got "
+                                + response.statusCode() + " '" + response.body() + "'");
+                    } else {
+                        recorder.record(operation, completed);
+                    }
+                    return null;
+                });
+    }
+
+    private static void drain(LongAdder outstanding) throws TimeoutException {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (outstanding.sum() > 0) {
+            if (System.nanoTime() > deadline) {
+                throw new TimeoutException(outstanding.sum() + " requests still in flight after " + DRAIN_TIMEOUT);
+            }
+            LockSupport.parkNanos(Duration.ofMillis(10).toNanos());
+        }
+    }
+
+    @FunctionalInterface
+    private interface Recorder {
+
+        void record(Operation operation, long completedNanos);
+    }
+}
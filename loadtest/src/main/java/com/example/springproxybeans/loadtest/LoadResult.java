@@ -0,0 +1,142 @@
+package com.example.springproxybeans.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency histograms and counters of one run. Only verified 200 responses enter the histograms; rejections (503)
+// and errors are counted separately. "latencyMillis" is corrected for coordinated omission, "serviceMillis" is not.
+public class LoadResult {
+
+    private static final int MAX_ERROR_SAMPLES = 20;
+
+    public enum Operation {
+        GET, POST
+    }
+
+    private final Histogram corrected = new ConcurrentHistogram(3);
+    private final Histogram service = new ConcurrentHistogram(3);
+    private final Map<Operation, Histogram> byOperation = new EnumMap<>(Operation.class);
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final List<String> errorSamples = Collections.synchronizedList(new ArrayList<>());
+    private long elapsedNanos;
+
+    LoadResult() {
+        for (Operation operation : Operation.values()) {
+            byOperation.put(operation, new ConcurrentHistogram(3));
+        }
+    }
+
+    // Open loop: the corrected latency runs from the scheduled send time, the service time from the actual one.
+    void recordScheduled(Operation operation, long sinceScheduledNanos, long serviceNanos) {
+        corrected.recordValue(sinceScheduledNanos);
+        byOperation.get(operation).recordValue(sinceScheduledNanos);
+        service.recordValue(serviceNanos);
+    }
+
+    // Closed loop: back-fills the requests a stalled connection would have sent at the expected interval.
+    void recordWithExpectedInterval(Operation operation, long serviceNanos, long expectedIntervalNanos) {
+        corrected.recordValueWithExpectedInterval(serviceNanos, expectedIntervalNanos);
+        byOperation.get(operation).recordValueWithExpectedInterval(serviceNanos, expectedIntervalNanos);
+        service.recordValue(serviceNanos);
+    }
+
+    void recordRejected() {
+        rejected.increment();
+    }
+
+    void recordError(String message) {
+        errors.increment();
+        if (errorSamples.size() < MAX_ERROR_SAMPLES) {
+            errorSamples.add(message);
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long requests() {
+        return service.getTotalCount();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    public List<String> errorSamples() {
+        return List.copyOf(errorSamples);
+    }
+
+    public double throughputPerSecond() {
+        return elapsedNanos == 0 ? 0 : requests() / (elapsedNanos / 1e9);
+    }
+
+    public long meanServiceNanos() {
+        return (long) service.getMean();
+    }
+
+    public double latencyPercentileMillis(double percentile) {
+        return millis(corrected, percentile);
+    }
+
+    public ObjectNode toJson(ObjectMapper mapper, LoadTestConfig config) {
+        ObjectNode json = mapper.createObjectNode();
+        json.put("mode", config.label());
+        if (config.mode() == LoadTestConfig.Mode.OPEN) {
+            json.put("targetRate", config.rate());
+        } else {
+            json.put("concurrency", config.concurrency());
+        }
+        json.put("durationSeconds", config.duration().toMillis() / 1000.0);
+        json.put("postRatio", config.postRatio());
+        json.put("requests", requests());
+        json.put("rejected", rejected());
+        json.put("errors", errors());
+        json.put("throughputPerSecond", round(throughputPerSecond()));
+        json.set("latencyMillis", percentiles(mapper, corrected));
+        json.set("serviceMillis", percentiles(mapper, service));
+        ObjectNode operations = json.putObject("operations");
+        byOperation.forEach((operation, histogram) -> operations.set(operation.name(), percentiles(mapper, histogram)));
+        return json;
+    }
+
+    // HdrHistogram's percentile distribution of the corrected latencies, in milliseconds.
+    public void writePercentileDistribution(PrintStream out) {
+        corrected.outputPercentileDistribution(out, 1e6);
+    }
+
+    private static ObjectNode percentiles(ObjectMapper mapper, Histogram histogram) {
+        ObjectNode json = mapper.createObjectNode();
+        json.put("count", histogram.getTotalCount());
+        json.put("mean", round(histogram.getMean() / 1e6));
+        json.put("p50", millis(histogram, 50));
+        json.put("p90", millis(histogram, 90));
+        json.put("p99", millis(histogram, 99));
+        json.put("p999", millis(histogram, 99.9));
+        json.put("max", round(histogram.getMaxValue() / 1e6));
+        return json;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return round(histogram.getValueAtPercentile(percentile) / 1e6);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
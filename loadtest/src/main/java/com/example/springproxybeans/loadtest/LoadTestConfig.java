@@ -0,0 +1,43 @@
+package com.example.springproxybeans.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Locale;
+
+// Load test settings, read from -Dloadtest.* system properties; see the README for the defaults.
+public record LoadTestConfig(Mode mode, double rate, int concurrency, Duration warmup, Duration duration,
+                             double postRatio, String url, Path resultDir, Path baseline, double maxRegression) {
+
+    public enum Mode {
+        OPEN, CLOSED
+    }
+
+    public static LoadTestConfig fromSystemProperties() {
+        String baseline = System.getProperty("loadtest.baseline");
+        LoadTestConfig config = new LoadTestConfig(
+                Mode.valueOf(System.getProperty("loadtest.mode", "open").toUpperCase(Locale.ROOT)),
+                Double.parseDouble(System.getProperty("loadtest.rate", "200")),
+                Integer.getInteger("loadtest.concurrency", 16),
+                DurationStyle.detectAndParse(System.getProperty("loadtest.warmup", "5s")),
+                DurationStyle.detectAndParse(System.getProperty("loadtest.duration", "20s")),
+                Double.parseDouble(System.getProperty("loadtest.post-ratio", "0.5")),
+                System.getProperty("loadtest.url"),
+                Paths.get(System.getProperty("loadtest.results", "target/load-results")),
+                baseline != null ? Paths.get(baseline) : null,
+                Double.parseDouble(System.getProperty("loadtest.max-regression", "0.25")));
+        if (config.rate <= 0 || config.concurrency <= 0) {
+            throw new IllegalArgumentException("loadtest.rate and loadtest.concurrency must be positive");
+        }
+        if (config.postRatio < 0 || config.postRatio > 1) {
+            throw new IllegalArgumentException("loadtest.post-ratio must be between 0 and 1");
+        }
+        return config;
+    }
+
+    public String label() {
+        return mode.name().toLowerCase(Locale.ROOT) + "-loop";
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.springproxybeans.loadtest;
+
+import com.example.springproxybeans.SpringProxyBeansApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Starts the application on a random port (unless -Dloadtest.url points at a running one), warms it up, runs one
+// open- or closed-loop measurement and writes <mode>.json and <mode>.hgrm to the result directory. Program
+// arguments are passed to the application, e.g. --app.request-scope.slots.enabled=true. Exits with 1 when a
+// response was wrong or the run regressed against -Dloadtest.baseline.
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ObjectMapper mapper = new ObjectMapper();
+        // Read before the run, which may overwrite the same file
+        JsonNode baseline = config.baseline() != null ? mapper.readTree(config.baseline().toFile()) : null;
+        ObjectNode json;
+        LoadResult result;
+        ConfigurableApplicationContext context = null;
+        try {
+            URI uri;
+            if (config.url() != null) {
+                uri = URI.create(config.url());
+            } else {
+                context = new SpringApplicationBuilder(SpringProxyBeansApplication.class)
+                        .bannerMode(Banner.Mode.OFF)
+                        .logStartupInfo(false)
+                        .run(applicationArguments(args));
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                uri = URI.create("http://localhost:" + port + "/api/data");
+            }
+            result = run(new LoadGenerator(uri, config.postRatio()), config);
+            json = result.toJson(mapper, config);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+
+        Files.createDirectories(config.resultDir());
+        Path jsonFile = config.resultDir().resolve(config.label() + ".json");
+        mapper.writerWithDefaultPrettyPrinter().writeValue(jsonFile.toFile(), json);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(config.resultDir().resolve(config.label() + ".hgrm")))) {
+            result.writePercentileDistribution(out);
+        }
+        System.out.println(mapper.writerWithDefaultPrettyPrinter().writeValueAsString(json));
+        System.out.println("Wrote " + jsonFile.toAbsolutePath());
+
+        boolean failed = false;
+        if (result.errors() > 0) {
+            System.err.println(result.errors() + " wrong or failed responses, for example:");
+            result.errorSamples().forEach(sample -> System.err.println("  " + sample));
+            failed = true;
+        }
+        if (baseline != null) {
+            List<String> regressions = new BaselineComparison(baseline, config.maxRegression()).regressions(json);
+            if (regressions.isEmpty()) {
+                System.out.println("Within " + Math.round(config.maxRegression() * 100) + "% of " + config.baseline());
+            } else {
+                System.err.println("Regressed against " + config.baseline() + ":");
+                regressions.forEach(regression -> System.err.println("  " + regression));
+                failed = true;
+            }
+        }
+        System.exit(failed ? 1 : 0);
+    }
+
+    // Defaults that must outrank application.properties; later program arguments still override them.
+    private static String[] applicationArguments(String[] args) {
+        List<String> arguments = new ArrayList<>(List.of("--server.port=0", "--server.tomcat.accept-count=10000",
+                "--logging.level.root=WARN", "--logging.level.com.example.springproxybeans=WARN"));
+        arguments.addAll(List.of(args));
+        return arguments.toArray(new String[0]);
+    }
+
+    private static LoadResult run(LoadGenerator generator, LoadTestConfig config) throws Exception {
+        if (config.mode() == LoadTestConfig.Mode.OPEN) {
+            generator.openLoop(config.rate(), config.warmup());
+            return generator.openLoop(config.rate(), config.duration());
+        }
+        // The warmup's mean service time is the interval a connection is expected to send at.
+        LoadResult warmup = generator.closedLoop(config.concurrency(), config.warmup(), 0);
+        return generator.closedLoop(config.concurrency(), config.duration(), warmup.meanServiceNanos());
+    }
+}
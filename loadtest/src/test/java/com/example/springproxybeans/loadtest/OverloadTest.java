@@ -0,0 +1,136 @@
+package com.example.springproxybeans.loadtest;
+
+import com.example.springproxybeans.SpringProxyBeansApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Overload check for the concurrency limiter, run with {@code -Doverload.test=true}. GET /api/data is
+ * put behind a simulated backend with a fixed number of permits and a fixed service time
+ * ({@code -Doverload.capacity}, 4, and {@code -Doverload.service-millis}, 50), whose waiters queue
+ * inside the application. A closed-loop run measures the saturation throughput; open-loop runs then
+ * offer twice that rate ({@code -Doverload.seconds} each, 5) with and without the limiter. Requests
+ * are sent and recorded by {@link LoadGenerator}, so latency is corrected for coordinated omission the
+ * same way as in the load test. Results go to {@code target/load-results/overload.json}.
+ */
+@EnabledIfSystemProperty(named = "overload.test", matches = "true")
+public class OverloadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OverloadTest.class);
+
+    @Test
+    public void testAcceptedLatencyStaysBoundedAtTwiceSaturation() throws Exception {
+        int capacity = Integer.getInteger("overload.capacity", 4);
+        Duration seconds = Duration.ofSeconds(Integer.getInteger("overload.seconds", 5));
+
+        LoadResult saturation;
+        LoadResult unlimited;
+        double overloadRate;
+        try (ConfigurableApplicationContext context = start(false)) {
+            LoadGenerator generator = new LoadGenerator(uri(context), 0);
+            generator.closedLoop(capacity * 4, Duration.ofSeconds(2), 0);
+            saturation = generator.closedLoop(capacity * 4, seconds, 0);
+            overloadRate = saturation.throughputPerSecond() * 2;
+            unlimited = generator.openLoop(overloadRate, seconds);
+        }
+        LoadResult limited;
+        try (ConfigurableApplicationContext context = start(true)) {
+            LoadGenerator generator = new LoadGenerator(uri(context), 0);
+            generator.closedLoop(capacity * 4, Duration.ofSeconds(2), 0);
+            limited = generator.openLoop(overloadRate, seconds);
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        ArrayNode json = mapper.createArrayNode();
+        json.add(toJson(mapper, "saturation", saturation, LoadTestConfig.Mode.CLOSED, 1, capacity * 4, seconds));
+        json.add(toJson(mapper, "2x-unlimited", unlimited, LoadTestConfig.Mode.OPEN, overloadRate, 1, seconds));
+        json.add(toJson(mapper, "2x-limited", limited, LoadTestConfig.Mode.OPEN, overloadRate, 1, seconds));
+        log.info("Overload results: {}", json);
+        Path resultDir = Paths.get("target", "load-results");
+        Files.createDirectories(resultDir);
+        Files.writeString(resultDir.resolve("overload.json"), mapper.writerWithDefaultPrettyPrinter().writeValueAsString(json));
+
+        // A 503 without Retry-After, like any wrong response, is counted as an error by LoadGenerator.
+        assertThat(limited.errors()).isZero();
+        assertThat(limited.rejected()).isPositive();
+        assertThat(limited.latencyPercentileMillis(99))
+                .isLessThan(unlimited.latencyPercentileMillis(99))
+                .isLessThan(Math.max(5 * saturation.latencyPercentileMillis(99), 100));
+    }
+
+    private static ConfigurableApplicationContext start(boolean limited) {
+        return new SpringApplicationBuilder(SpringProxyBeansApplication.class, SimulatedBackend.class)
+                .run("--server.port=0", "--server.tomcat.accept-count=10000",
+                        "--app.concurrency-limit.enabled=" + limited);
+    }
+
+    private static URI uri(ConfigurableApplicationContext context) {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return URI.create("http://localhost:" + port + "/api/data");
+    }
+
+    // The run's settings go through LoadTestConfig, so the JSON has the same shape as the load test's results.
+    private static ObjectNode toJson(ObjectMapper mapper, String run, LoadResult result, LoadTestConfig.Mode mode,
+                                     double rate, int concurrency, Duration duration) {
+        LoadTestConfig config = new LoadTestConfig(mode, rate, concurrency, Duration.ZERO, duration, 0, null, null,
+                null, 0);
+        ObjectNode json = mapper.createObjectNode();
+        json.put("run", run);
+        json.setAll(result.toJson(mapper, config));
+        return json;
+    }
+
+    // A backend with a fixed number of permits behind GET /api/data; excess callers wait for a permit.
+    static class SimulatedBackend {
+
+        @Bean
+        FilterRegistrationBean<Filter> simulatedBackend() {
+            Semaphore permits = new Semaphore(Integer.getInteger("overload.capacity", 4), true);
+            long serviceMillis = Integer.getInteger("overload.service-millis", 50);
+            FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>(new Filter() {
+                @Override
+                public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+                        throws IOException, ServletException {
+                    permits.acquireUninterruptibly();
+                    try {
+                        Thread.sleep(serviceMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        permits.release();
+                    }
+                    chain.doFilter(request, response);
+                }
+            });
+            registration.addUrlPatterns("/api/data");
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+            return registration;
+        }
+    }
+}
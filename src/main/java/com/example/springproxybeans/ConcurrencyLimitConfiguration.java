@@ -0,0 +1,42 @@
+package com.example.springproxybeans;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Opt-in adaptive concurrency limits for /api/data, enabled with
+ * {@code app.concurrency-limit.enabled=true}. The filter runs first, so rejected requests skip the
+ * request scope entirely.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "app.concurrency-limit", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitConfiguration {
+
+    @Bean
+    public ConcurrencyLimiter getConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        return new ConcurrencyLimiter("GET /api/data", properties.getGet().createAlgorithm());
+    }
+
+    @Bean
+    public ConcurrencyLimiter postConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        return new ConcurrencyLimiter("POST /api/data", properties.getPost().createAlgorithm());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Qualifier("getConcurrencyLimiter") ConcurrencyLimiter getLimiter,
+            @Qualifier("postConcurrencyLimiter") ConcurrencyLimiter postLimiter,
+            ConcurrencyLimitProperties properties) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(getLimiter, postLimiter, properties.getRetryAfter().toSeconds()));
+        registration.addUrlPatterns("/api/data");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
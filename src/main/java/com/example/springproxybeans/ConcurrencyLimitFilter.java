@@ -0,0 +1,69 @@
+package com.example.springproxybeans;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Passes GET and POST requests through their own {@link ConcurrencyLimiter}. A request over the
+ * limit is answered at once with 503 and a Retry-After header, before any request-scoped state is
+ * created; other methods are not limited. A request that ends in an exception or a 5xx counts as
+ * dropped, which shrinks the limit.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final byte[] REJECTED = "Server is overloaded, retry later".getBytes(StandardCharsets.UTF_8);
+
+    private final ConcurrencyLimiter getLimiter;
+    private final ConcurrencyLimiter postLimiter;
+    private final String retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimiter getLimiter, ConcurrencyLimiter postLimiter, long retryAfterSeconds) {
+        this.getLimiter = getLimiter;
+        this.postLimiter = postLimiter;
+        this.retryAfterSeconds = Long.toString(retryAfterSeconds);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ConcurrencyLimiter limiter = switch (request.getMethod()) {
+            case "GET" -> getLimiter;
+            case "POST" -> postLimiter;
+            default -> null;
+        };
+        if (limiter == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        int inFlight = limiter.tryAcquire();
+        if (inFlight < 0) {
+            reject(response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= 500;
+        } finally {
+            limiter.release(System.nanoTime() - start, inFlight, dropped);
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setContentLength(REJECTED.length);
+        response.getOutputStream().write(REJECTED);
+    }
+}
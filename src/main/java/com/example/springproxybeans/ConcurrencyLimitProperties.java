@@ -0,0 +1,153 @@
+package com.example.springproxybeans;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Put adaptive concurrency limiters in front of GET and POST /api/data (see ConcurrencyLimitFilter).
+     */
+    private boolean enabled;
+
+    /**
+     * Sent as Retry-After with the 503 of a rejected request.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    private final Limit get = new Limit();
+
+    private final Limit post = new Limit();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    public Limit getGet() {
+        return get;
+    }
+
+    public Limit getPost() {
+        return post;
+    }
+
+    public enum Algorithm {
+        GRADIENT, AIMD
+    }
+
+    public static class Limit {
+
+        private Algorithm algorithm = Algorithm.GRADIENT;
+
+        private int initialLimit = 20;
+
+        private int minLimit = 2;
+
+        private int maxLimit = 200;
+
+        /**
+         * Gradient: how far latency may rise above its long-term average before the limit shrinks.
+         */
+        private double rttTolerance = 1.5;
+
+        /**
+         * Gradient: weight of each new limit estimate, between 0 and 1.
+         */
+        private double smoothing = 0.2;
+
+        /**
+         * AIMD: requests slower than this shrink the limit.
+         */
+        private Duration latencyThreshold = Duration.ofMillis(50);
+
+        /**
+         * AIMD: factor the limit is multiplied by on a slow or failed request.
+         */
+        private double backoffRatio = 0.9;
+
+        public LimitAlgorithm createAlgorithm() {
+            return switch (algorithm) {
+                case GRADIENT -> new GradientLimit(initialLimit, minLimit, maxLimit, rttTolerance, smoothing);
+                case AIMD -> new AimdLimit(initialLimit, minLimit, maxLimit, latencyThreshold.toNanos(), backoffRatio);
+            };
+        }
+
+        public Algorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        public void setAlgorithm(Algorithm algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public double getRttTolerance() {
+            return rttTolerance;
+        }
+
+        public void setRttTolerance(double rttTolerance) {
+            this.rttTolerance = rttTolerance;
+        }
+
+        public double getSmoothing() {
+            return smoothing;
+        }
+
+        public void setSmoothing(double smoothing) {
+            this.smoothing = smoothing;
+        }
+
+        public Duration getLatencyThreshold() {
+            return latencyThreshold;
+        }
+
+        public void setLatencyThreshold(Duration latencyThreshold) {
+            this.latencyThreshold = latencyThreshold;
+        }
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+    }
+}
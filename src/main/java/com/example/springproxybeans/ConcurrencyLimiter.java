@@ -0,0 +1,66 @@
+package com.example.springproxybeans;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admits at most {@link #limit()} requests at a time and rejects the rest immediately instead of
+ * queueing them. The limit follows a {@link LimitAlgorithm} fed with the latency of every admitted
+ * request.
+ */
+public class ConcurrencyLimiter {
+
+    private final String name;
+    private final LimitAlgorithm algorithm;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+
+    public ConcurrencyLimiter(String name, LimitAlgorithm algorithm) {
+        this.name = name;
+        this.algorithm = algorithm;
+        this.limit = algorithm.limit();
+    }
+
+    /**
+     * Returns the number of requests in flight including this one, or {@code -1} if the request is
+     * rejected. An admitted request must be passed to {@link #release} exactly once.
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return current + 1;
+            }
+        }
+    }
+
+    public void release(long rttNanos, int inFlightAtStart, boolean dropped) {
+        inFlight.decrementAndGet();
+        synchronized (algorithm) {
+            algorithm.onSample(rttNanos, inFlightAtStart, dropped);
+            limit = algorithm.limit();
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public Stats stats() {
+        return new Stats(limit, inFlight.get(), accepted.sum(), rejected.sum());
+    }
+
+    public record Stats(int limit, int inFlight, long accepted, long rejected) {
+    }
+}
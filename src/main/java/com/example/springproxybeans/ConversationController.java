@@ -0,0 +1,66 @@
+package com.example.springproxybeans;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/conversation")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "app.conversation", name = "enabled", havingValue = "true")
+public class ConversationController {
+    
+    private final ConversationDataHolder conversationDataHolder;
+    private final ConversationScope conversationScope;
+    
+    @Autowired
+    public ConversationController(ConversationDataHolder conversationDataHolder, ConversationScope conversationScope) {
+        this.conversationDataHolder = conversationDataHolder;
+        this.conversationScope = conversationScope;
+    }
+    
+    @PostMapping
+    public ResponseEntity<String> advance(@RequestBody DataController.DataRequest request) {
+        String conversationId = conversationScope.currentConversationId();
+        if (conversationId == null) {
+            return missingConversationId();
+        }
+        String data = request.getData();
+        if (data != null && data.getBytes(StandardCharsets.UTF_8).length > ConversationDataHolder.MAX_DATA_BYTES) {
+            throw new DataRequestTooLargeException(ConversationDataHolder.MAX_DATA_BYTES);
+        }
+        conversationDataHolder.advance(data);
+        return ResponseEntity.ok("Conversation " + conversationId + " at step " + conversationDataHolder.getStep()
+                + ": " + data);
+    }
+    
+    @GetMapping
+    public ResponseEntity<String> get() {
+        String conversationId = conversationScope.currentConversationId();
+        if (conversationId == null) {
+            return missingConversationId();
+        }
+        if (conversationDataHolder.getStep() == 0) {
+            return ResponseEntity.ok("No state for conversation " + conversationId);
+        }
+        return ResponseEntity.ok(conversationDataHolder.getConversationInfo());
+    }
+    
+    @DeleteMapping
+    public ResponseEntity<String> end() {
+        String conversationId = conversationScope.currentConversationId();
+        if (conversationId == null) {
+            return missingConversationId();
+        }
+        conversationScope.end();
+        return ResponseEntity.ok("Conversation " + conversationId + " ended");
+    }
+    
+    private static ResponseEntity<String> missingConversationId() {
+        return ResponseEntity.badRequest().body("Missing or invalid correlation ID header");
+    }
+}
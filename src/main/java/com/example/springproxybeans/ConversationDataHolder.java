@@ -0,0 +1,73 @@
+package com.example.springproxybeans;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+@Component
+@Scope(value = ConversationScope.NAME, proxyMode = ScopedProxyMode.TARGET_CLASS)
+@ConditionalOnProperty(prefix = "app.conversation", name = "enabled", havingValue = "true")
+public class ConversationDataHolder implements ConversationState {
+    
+    // Longest data kept, in UTF-8 bytes; with the step and start time it fits the default 512-byte record.
+    public static final int MAX_DATA_BYTES = 256;
+    
+    private int step;
+    private long startedAt;
+    private String data;
+    
+    public int getStep() {
+        return step;
+    }
+    
+    public long getStartedAt() {
+        return startedAt;
+    }
+    
+    public String getData() {
+        return data;
+    }
+    
+    // Records the data of the conversation's next step.
+    public void advance(String data) {
+        if (step == 0) {
+            startedAt = System.currentTimeMillis();
+        }
+        step++;
+        this.data = data;
+    }
+    
+    public String getConversationInfo() {
+        return "Step: " + step + ", Data: " + data + ", Started at: " + startedAt;
+    }
+    
+    // Layout: int step, long startedAt, short data length (-1 for null), data bytes.
+    @Override
+    public void writeState(ByteBuffer out) {
+        out.putInt(step);
+        out.putLong(startedAt);
+        if (data == null) {
+            out.putShort((short) -1);
+        } else {
+            byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+            out.putShort((short) bytes.length);
+            out.put(bytes);
+        }
+    }
+    
+    @Override
+    public void readState(ByteBuffer in) {
+        step = in.getInt();
+        startedAt = in.getLong();
+        short length = in.getShort();
+        if (length >= 0) {
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            data = new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.springproxybeans;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Saves conversation state before the response body is written. Writing it back only when the
+ * request completes would let a client that already has the response send the next step of the
+ * conversation before the previous one is stored.
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "app.conversation", name = "enabled", havingValue = "true")
+public class ConversationFlushAdvice implements ResponseBodyAdvice<Object> {
+
+    private final ConversationScope conversationScope;
+
+    @Autowired
+    public ConversationFlushAdvice(ConversationScope conversationScope) {
+        this.conversationScope = conversationScope;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        conversationScope.flush();
+        return body;
+    }
+}
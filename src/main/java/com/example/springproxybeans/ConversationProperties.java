@@ -0,0 +1,101 @@
+package com.example.springproxybeans;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.conversation")
+public class ConversationProperties {
+
+    /**
+     * Register the conversation scope and the beans and endpoints that use it (see ConversationScope).
+     */
+    private boolean enabled;
+
+    /**
+     * Request header carrying the conversation's correlation ID.
+     */
+    private String header = "X-Correlation-Id";
+
+    /**
+     * Memory-mapped file holding conversation state; reused after a restart.
+     */
+    private Path file = Path.of(System.getProperty("java.io.tmpdir"), "spring-proxy-beans", "conversations.dat");
+
+    /**
+     * Number of records in the store. Changing it (or the record size) requires deleting the file.
+     */
+    private int capacity = 65536;
+
+    /**
+     * Size of one record in bytes, a multiple of 8; 160 bytes of it are header and key.
+     */
+    private int recordSize = 512;
+
+    /**
+     * Conversations not accessed for this long are evicted.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(30);
+
+    /**
+     * How often idle conversations are looked for.
+     */
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getHeader() {
+        return header;
+    }
+
+    public void setHeader(String header) {
+        this.header = header;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void setFile(Path file) {
+        this.file = file;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getRecordSize() {
+        return recordSize;
+    }
+
+    public void setRecordSize(int recordSize) {
+        this.recordSize = recordSize;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public Duration getSweepInterval() {
+        return sweepInterval;
+    }
+
+    public void setSweepInterval(Duration sweepInterval) {
+        this.sweepInterval = sweepInterval;
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.springproxybeans;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.Scope;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Scope for state that spans several requests of one conversation, identified by a correlation ID
+ * header. A sibling of the request scope: within a request, a conversation-scoped bean is a plain
+ * instance restored from the {@link ConversationStore} on first use. Its {@link ConversationState}
+ * is written back by {@link #flush()}, which {@link ConversationFlushAdvice} calls before a response
+ * body is written, and otherwise when the request completes. Between requests the state lives only
+ * in the memory-mapped store, not on the heap.
+ * <p>
+ * Concurrent requests of the same conversation each work on their own copy, and the last one to
+ * write back wins. Fan-out subtasks cannot use conversation-scoped beans, and destruction callbacks
+ * are not supported, since instances are discarded with their request.
+ */
+public class ConversationScope implements Scope, DisposableBean {
+
+    public static final String NAME = "conversation";
+
+    private static final Logger log = LoggerFactory.getLogger(ConversationScope.class);
+    private static final String BEANS_ATTRIBUTE = ConversationScope.class.getName() + ".beans";
+    private static final int MAX_CONVERSATION_ID_LENGTH = 64;
+    private static final Pattern CONVERSATION_ID =
+            Pattern.compile("[A-Za-z0-9._:-]{1," + MAX_CONVERSATION_ID_LENGTH + "}");
+
+    private final ConversationStore store;
+    private final String header;
+    private final ScheduledExecutorService sweeper;
+    private List<String> beanNames = List.of();
+
+    public ConversationScope(ConversationStore store, ConversationProperties properties) {
+        this.store = store;
+        this.header = properties.getHeader();
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "conversation-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long idleMillis = properties.getIdleTimeout().toMillis();
+        long intervalMillis = properties.getSweepInterval().toMillis();
+        sweeper.scheduleWithFixedDelay(() -> sweep(idleMillis), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registers this scope and remembers the beans defined in it, so {@link #end()} can remove them.
+     * Fails if a bean name is too long for the store key of the longest conversation ID.
+     */
+    public void register(ConfigurableListableBeanFactory beanFactory) {
+        List<String> names = new ArrayList<>();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            if (NAME.equals(definition.getScope())) {
+                // Conversation IDs are ASCII, so the longest one takes one byte per character
+                int keyBytes = key("x".repeat(MAX_CONVERSATION_ID_LENGTH), beanName).getBytes(StandardCharsets.UTF_8).length;
+                if (keyBytes > ConversationStore.MAX_KEY_BYTES) {
+                    throw new IllegalStateException("Conversation-scoped bean name '" + beanName + "' is too long: its "
+                            + "store key can take " + keyBytes + " bytes, more than " + ConversationStore.MAX_KEY_BYTES);
+                }
+                names.add(beanName);
+            }
+        }
+        beanNames = List.copyOf(names);
+        beanFactory.registerScope(NAME, this);
+    }
+
+    /**
+     * The correlation ID of the current request, or {@code null} if the header is missing or is not
+     * 1 to 64 letters, digits, '.', '_', ':' or '-'.
+     */
+    public String currentConversationId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        String id = request.getHeader(header);
+        return id != null && CONVERSATION_ID.matcher(id).matches() ? id : null;
+    }
+
+    /**
+     * Ends the current conversation: its stored state is removed now, and instances used by this
+     * request are not written back.
+     */
+    public void end() {
+        String conversationId = requireConversationId();
+        RequestBeans beans = requestBeans(conversationId);
+        beans.ended = true;
+        beans.instances.clear();
+        for (String beanName : beanNames) {
+            store.remove(key(conversationId, beanName));
+        }
+    }
+
+    /**
+     * Writes back the instances the current request has used so far. A later use in the same request
+     * restores them again.
+     */
+    public void flush() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(BEANS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof RequestBeans beans) {
+            writeBack(beans);
+        }
+    }
+
+    public ConversationStore.Stats stats() {
+        return store.stats();
+    }
+
+    @Override
+    public Object get(String name, ObjectFactory<?> objectFactory) {
+        String conversationId = requireConversationId();
+        RequestBeans beans = requestBeans(conversationId);
+        Object instance = beans.instances.get(name);
+        if (instance == null) {
+            instance = objectFactory.getObject();
+            if (!(instance instanceof ConversationState state)) {
+                throw new IllegalStateException("Conversation-scoped bean '" + name + "' must implement "
+                        + ConversationState.class.getSimpleName());
+            }
+            ByteBuffer stored = store.read(key(conversationId, name));
+            if (stored != null) {
+                state.readState(stored);
+            }
+            beans.instances.put(name, instance);
+        }
+        return instance;
+    }
+
+    @Override
+    public Object remove(String name) {
+        String conversationId = requireConversationId();
+        Object instance = requestBeans(conversationId).instances.remove(name);
+        store.remove(key(conversationId, name));
+        return instance;
+    }
+
+    @Override
+    public void registerDestructionCallback(String name, Runnable callback) {
+        log.debug("Ignoring destruction callback of conversation-scoped bean '{}'", name);
+    }
+
+    @Override
+    public Object resolveContextualObject(String key) {
+        return null;
+    }
+
+    @Override
+    public String getConversationId() {
+        return currentConversationId();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        sweeper.shutdownNow();
+        store.close();
+    }
+
+    // The instances the current request restored; written back by a destruction callback of the request.
+    private RequestBeans requestBeans(String conversationId) {
+        RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+        RequestBeans beans = (RequestBeans) attributes.getAttribute(BEANS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (beans == null) {
+            RequestBeans created = new RequestBeans(conversationId);
+            attributes.setAttribute(BEANS_ATTRIBUTE, created, RequestAttributes.SCOPE_REQUEST);
+            attributes.registerDestructionCallback(BEANS_ATTRIBUTE, () -> writeBack(created),
+                    RequestAttributes.SCOPE_REQUEST);
+            beans = created;
+        }
+        return beans;
+    }
+
+    private void writeBack(RequestBeans beans) {
+        if (beans.ended || beans.instances.isEmpty()) {
+            return;
+        }
+        // One buffer per write-back, shared by the request's beans; nothing is cached per thread.
+        ByteBuffer buffer = ByteBuffer.allocate(store.payloadCapacity()).order(ByteOrder.LITTLE_ENDIAN);
+        for (Map.Entry<String, Object> entry : beans.instances.entrySet()) {
+            buffer.clear();
+            try {
+                ((ConversationState) entry.getValue()).writeState(buffer);
+            } catch (BufferOverflowException e) {
+                log.error("State of conversation-scoped bean '{}' exceeds the {} bytes of a record; not saved",
+                        entry.getKey(), store.payloadCapacity());
+                continue;
+            }
+            buffer.flip();
+            store.write(key(beans.conversationId, entry.getKey()), buffer);
+        }
+        beans.instances.clear();
+    }
+
+    private void sweep(long idleMillis) {
+        try {
+            int evicted = store.evictIdle(idleMillis);
+            if (evicted > 0) {
+                log.debug("Evicted {} idle conversation records", evicted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Idle conversation sweep failed", e);
+        }
+    }
+
+    private String requireConversationId() {
+        String conversationId = currentConversationId();
+        if (conversationId == null) {
+            throw new IllegalStateException("No valid " + header + " header in the current request");
+        }
+        return conversationId;
+    }
+
+    private static String key(String conversationId, String beanName) {
+        return conversationId + '/' + beanName;
+    }
+
+    private static final class RequestBeans {
+
+        final String conversationId;
+        final Map<String, Object> instances = new HashMap<>();
+        boolean ended;
+
+        RequestBeans(String conversationId) {
+            this.conversationId = conversationId;
+        }
+    }
+}
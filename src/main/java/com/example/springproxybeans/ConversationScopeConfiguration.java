@@ -0,0 +1,37 @@
+package com.example.springproxybeans;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+
+/**
+ * Opt-in {@link ConversationScope}, enabled with {@code app.conversation.enabled=true}. The scope is
+ * created while bean factory post-processors run, before configuration properties are bound to
+ * beans, so it binds {@link ConversationProperties} from the environment itself.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "app.conversation", name = "enabled", havingValue = "true")
+public class ConversationScopeConfiguration {
+
+    @Bean
+    public static ConversationScope conversationScope(Environment environment) throws IOException {
+        ConversationProperties properties = Binder.get(environment)
+                .bind("app.conversation", ConversationProperties.class)
+                .orElseGet(ConversationProperties::new);
+        ConversationStore store = ConversationStore.open(properties.getFile(), properties.getCapacity(),
+                properties.getRecordSize());
+        return new ConversationScope(store, properties);
+    }
+
+    @Bean
+    public static BeanFactoryPostProcessor conversationScopeRegistrar(ConversationScope conversationScope) {
+        return conversationScope::register;
+    }
+}
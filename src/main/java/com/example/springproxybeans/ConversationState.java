@@ -0,0 +1,20 @@
+package com.example.springproxybeans;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Implemented by conversation-scoped beans: their state is kept off-heap between requests, in a
+ * fixed-size record of the {@link ConversationStore}, in whatever compact layout these methods use.
+ */
+public interface ConversationState {
+
+    /**
+     * Writes the state; overflowing the buffer means the state does not fit a record.
+     */
+    void writeState(ByteBuffer out);
+
+    /**
+     * Restores the state written by {@link #writeState} into a newly created instance.
+     */
+    void readState(ByteBuffer in);
+}
@@ -0,0 +1,496 @@
+package com.example.springproxybeans;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Off-heap store of conversation state: a memory-mapped file of fixed-size records in an
+ * open-addressed hash table. A key's record lives within {@value #MAX_PROBE} slots of its home slot,
+ * so lookups and inserts are bounded; an insert into a full window evicts the least recently
+ * accessed record of it.
+ * <p>
+ * One JVM opens the file for writing and holds an exclusive file lock; other JVMs on the host may
+ * {@linkplain #openReadOnly(Path) map it read-only}. Readers never lock: each record carries a
+ * sequence number that is odd while it is being written (a seqlock), and a read that overlaps a write
+ * is retried. A record that stays mid-write for {@value #STALL_MILLIS} ms, as one does after its writer
+ * crashed, is skipped like a non-matching one. A CRC over each record and a clean-shutdown flag in the
+ * header make the file reusable after a crash: when a writer opens a file that was not closed cleanly,
+ * records whose write was interrupted or whose CRC does not match are dropped.
+ * <p>
+ * Removed records leave tombstones that lookups probe past. A run of tombstones followed by an empty
+ * slot is turned back into empty slots, since no key can live beyond it, so churn does not fill the
+ * table with tombstones.
+ */
+public final class ConversationStore implements Closeable {
+
+    static final int MAX_PROBE = 32;
+    static final int MAX_KEY_BYTES = 128;
+    static final int STALL_MILLIS = 10;
+
+    private static final int MAGIC = 0x43565354;
+    private static final int VERSION = 1;
+
+    // File header
+    private static final int HEADER_SIZE = 64;
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_RECORD_SIZE = 8;
+    private static final int H_CAPACITY = 12;
+    private static final int H_CLEAN = 16;
+
+    // Record layout; the longs at SEQ and LAST_ACCESS are 8-byte aligned
+    private static final int SEQ = 0;
+    private static final int LAST_ACCESS = 8;
+    private static final int STATE = 16;
+    private static final int KEY_LENGTH = 18;
+    private static final int PAYLOAD_LENGTH = 20;
+    private static final int CRC = 24;
+    private static final int KEY_HASH = 28;
+    private static final int KEY = 32;
+    private static final int PAYLOAD = KEY + MAX_KEY_BYTES;
+    // Key and payload lengths are stored as shorts, so a payload may not exceed Short.MAX_VALUE bytes
+    static final int MAX_RECORD_SIZE = (PAYLOAD + Short.MAX_VALUE) & ~7;
+
+    private static final byte EMPTY = 0;
+    private static final byte USED = 1;
+    private static final byte DELETED = 2;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final FileChannel channel;
+    private final FileLock lock;
+    private final MappedByteBuffer buffer;
+    private final boolean readOnly;
+    private final int recordSize;
+    private final int capacity;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final CRC32C crc = new CRC32C();
+    private int live;
+    private long evictions;
+
+    private ConversationStore(FileChannel channel, FileLock lock, MappedByteBuffer buffer, boolean readOnly) {
+        this.channel = channel;
+        this.lock = lock;
+        this.buffer = buffer;
+        this.readOnly = readOnly;
+        this.recordSize = buffer.getInt(H_RECORD_SIZE);
+        this.capacity = buffer.getInt(H_CAPACITY);
+    }
+
+    /**
+     * Opens the store for writing, creating the file if needed. An existing file must have the same
+     * layout; if it was not closed cleanly its damaged records are dropped.
+     */
+    public static ConversationStore open(Path file, int capacity, int recordSize) throws IOException {
+        if (recordSize < PAYLOAD + 8 || recordSize > MAX_RECORD_SIZE || recordSize % 8 != 0) {
+            throw new IllegalArgumentException("Record size must be a multiple of 8 from " + (PAYLOAD + 8)
+                    + " to " + MAX_RECORD_SIZE);
+        }
+        long size = HEADER_SIZE + (long) capacity * recordSize;
+        if (capacity < 1 || size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Capacity " + capacity + " x " + recordSize + " bytes does not fit one mapping");
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            FileLock lock = channel.tryLock();
+            if (lock == null) {
+                throw new IllegalStateException("Conversation store " + file + " is already open for writing");
+            }
+            boolean created = channel.size() == 0;
+            long mapped = created ? size : Math.min(channel.size(), Integer.MAX_VALUE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, mapped);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (created) {
+                buffer.putInt(H_MAGIC, MAGIC);
+                buffer.putInt(H_VERSION, VERSION);
+                buffer.putInt(H_RECORD_SIZE, recordSize);
+                buffer.putInt(H_CAPACITY, capacity);
+            } else {
+                checkLayout(file, buffer, capacity, recordSize);
+            }
+            ConversationStore store = new ConversationStore(channel, lock, buffer, false);
+            store.recover(buffer.getInt(H_CLEAN) == 1);
+            buffer.putInt(H_CLEAN, 0);
+            buffer.force();
+            return store;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Maps an existing store read-only, for example from another JVM than the one writing it.
+     */
+    public static ConversationStore openReadOnly(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.capacity() < HEADER_SIZE || buffer.getInt(H_MAGIC) != MAGIC) {
+                throw new IllegalStateException(file + " is not a conversation store");
+            }
+            return new ConversationStore(channel, null, buffer, true);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static void checkLayout(Path file, ByteBuffer buffer, int capacity, int recordSize) {
+        if (buffer.capacity() != HEADER_SIZE + (long) capacity * recordSize
+                || buffer.getInt(H_MAGIC) != MAGIC || buffer.getInt(H_VERSION) != VERSION
+                || buffer.getInt(H_CAPACITY) != capacity || buffer.getInt(H_RECORD_SIZE) != recordSize) {
+            throw new IllegalStateException("Conversation store " + file + " has a different layout than capacity "
+                    + capacity + " and record size " + recordSize + "; delete it or configure the same layout");
+        }
+    }
+
+    public int payloadCapacity() {
+        return recordSize - PAYLOAD;
+    }
+
+    /**
+     * Returns a copy of the payload stored under the key, or {@code null}. A writing store also
+     * records the access, which postpones idle eviction.
+     */
+    public ByteBuffer read(String key) {
+        byte[] keyBytes = encodeKey(key);
+        int hash = hash(keyBytes);
+        byte[] candidate = new byte[MAX_KEY_BYTES];
+        for (int probe = 0; probe < Math.min(MAX_PROBE, capacity); probe++) {
+            int record = offsetOf(slot(hash, probe));
+            long stalledSince = 0;
+            while (true) {
+                long seq = (long) LONGS.getAcquire(buffer, record + SEQ);
+                if ((seq & 1) != 0) {
+                    if (stalledSince == 0) {
+                        stalledSince = System.nanoTime();
+                    } else if (System.nanoTime() - stalledSince > TimeUnit.MILLISECONDS.toNanos(STALL_MILLIS)) {
+                        break;
+                    }
+                    Thread.yield();
+                    continue;
+                }
+                byte state = buffer.get(record + STATE);
+                boolean match = state == USED && buffer.getInt(record + KEY_HASH) == hash
+                        && buffer.getShort(record + KEY_LENGTH) == keyBytes.length;
+                byte[] payload = null;
+                if (match) {
+                    buffer.get(record + KEY, candidate, 0, keyBytes.length);
+                    int payloadLength = Math.min(buffer.getShort(record + PAYLOAD_LENGTH), payloadCapacity());
+                    payload = new byte[Math.max(payloadLength, 0)];
+                    buffer.get(record + PAYLOAD, payload, 0, payload.length);
+                }
+                VarHandle.loadLoadFence();
+                if ((long) LONGS.getVolatile(buffer, record + SEQ) != seq) {
+                    continue;
+                }
+                if (state == EMPTY) {
+                    return null;
+                }
+                if (match && equalPrefix(candidate, keyBytes)) {
+                    if (!readOnly) {
+                        LONGS.setOpaque(buffer, record + LAST_ACCESS, System.currentTimeMillis());
+                    }
+                    return ByteBuffer.wrap(payload).order(ByteOrder.LITTLE_ENDIAN);
+                }
+                break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stores the remaining bytes of the payload under the key, replacing what was there.
+     */
+    public void write(String key, ByteBuffer payload) {
+        assertWritable();
+        byte[] keyBytes = encodeKey(key);
+        if (payload.remaining() > payloadCapacity()) {
+            throw new IllegalArgumentException("Payload of " + payload.remaining()
+                    + " bytes exceeds the record capacity of " + payloadCapacity() + " bytes");
+        }
+        int hash = hash(keyBytes);
+        writeLock.lock();
+        try {
+            int free = -1;
+            int oldest = -1;
+            long oldestAccess = Long.MAX_VALUE;
+            for (int probe = 0; probe < Math.min(MAX_PROBE, capacity); probe++) {
+                int slot = slot(hash, probe);
+                int record = offsetOf(slot);
+                byte state = buffer.get(record + STATE);
+                if (state == USED && matches(record, hash, keyBytes)) {
+                    writeRecord(record, USED, hash, keyBytes, payload);
+                    return;
+                }
+                if (state != USED) {
+                    if (free < 0) {
+                        free = slot;
+                    }
+                    if (state == EMPTY) {
+                        break;
+                    }
+                } else {
+                    long lastAccess = (long) LONGS.getOpaque(buffer, record + LAST_ACCESS);
+                    if (lastAccess < oldestAccess) {
+                        oldestAccess = lastAccess;
+                        oldest = slot;
+                    }
+                }
+            }
+            if (free < 0) {
+                free = oldest;
+                evictions++;
+                live--;
+            }
+            writeRecord(offsetOf(free), USED, hash, keyBytes, payload);
+            live++;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public boolean remove(String key) {
+        assertWritable();
+        byte[] keyBytes = encodeKey(key);
+        int hash = hash(keyBytes);
+        writeLock.lock();
+        try {
+            for (int probe = 0; probe < Math.min(MAX_PROBE, capacity); probe++) {
+                int slot = slot(hash, probe);
+                int record = offsetOf(slot);
+                byte state = buffer.get(record + STATE);
+                if (state == EMPTY) {
+                    return false;
+                }
+                if (state == USED && matches(record, hash, keyBytes)) {
+                    delete(slot);
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes every record not accessed since {@code now - maxIdleMillis}; returns how many.
+     */
+    public int evictIdle(long maxIdleMillis) {
+        assertWritable();
+        long cutoff = System.currentTimeMillis() - maxIdleMillis;
+        int evicted = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            int record = offsetOf(slot);
+            if (buffer.get(record + STATE) != USED || (long) LONGS.getOpaque(buffer, record + LAST_ACCESS) >= cutoff) {
+                continue;
+            }
+            writeLock.lock();
+            try {
+                if (buffer.get(record + STATE) == USED && (long) LONGS.getOpaque(buffer, record + LAST_ACCESS) < cutoff) {
+                    delete(slot);
+                    evicted++;
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        return evicted;
+    }
+
+    public Stats stats() {
+        writeLock.lock();
+        try {
+            return new Stats(capacity, live, evictions);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Marks the file as cleanly closed and releases the write lock; the mapping itself is released
+     * when it is garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!readOnly) {
+            writeLock.lock();
+            try {
+                buffer.putInt(H_CLEAN, 1);
+                buffer.force();
+            } finally {
+                writeLock.unlock();
+            }
+            lock.release();
+        }
+        channel.close();
+    }
+
+    // Drops records a crash left half-written or damaged, ends interrupted writes so readers stop
+    // skipping those slots, and counts the live records.
+    private void recover(boolean clean) {
+        for (int slot = 0; slot < capacity; slot++) {
+            int record = offsetOf(slot);
+            long seq = (long) LONGS.getVolatile(buffer, record + SEQ);
+            boolean interrupted = (seq & 1) != 0;
+            boolean used = buffer.get(record + STATE) == USED;
+            if (used && !clean && (interrupted || buffer.getInt(record + CRC) != checksum(record))) {
+                LONGS.setVolatile(buffer, record + SEQ, seq | 1);
+                buffer.put(record + STATE, DELETED);
+                LONGS.setRelease(buffer, record + SEQ, (seq | 1) + 1);
+            } else if (interrupted) {
+                LONGS.setRelease(buffer, record + SEQ, seq + 1);
+            } else if (used) {
+                live++;
+            }
+        }
+        for (int slot = 0; slot < capacity; slot++) {
+            if (buffer.get(offsetOf(slot) + STATE) == EMPTY) {
+                reclaimTombstones((slot + capacity - 1) % capacity);
+            }
+        }
+    }
+
+    private void writeRecord(int record, byte state, int hash, byte[] keyBytes, ByteBuffer payload) {
+        long seq = (long) LONGS.getVolatile(buffer, record + SEQ);
+        LONGS.setVolatile(buffer, record + SEQ, seq + 1);
+        buffer.put(record + STATE, state);
+        buffer.putShort(record + KEY_LENGTH, (short) keyBytes.length);
+        buffer.putShort(record + PAYLOAD_LENGTH, (short) payload.remaining());
+        buffer.putInt(record + KEY_HASH, hash);
+        buffer.put(record + KEY, keyBytes, 0, keyBytes.length);
+        buffer.put(record + PAYLOAD, payload, payload.position(), payload.remaining());
+        buffer.putInt(record + CRC, checksum(record));
+        LONGS.setOpaque(buffer, record + LAST_ACCESS, System.currentTimeMillis());
+        LONGS.setRelease(buffer, record + SEQ, seq + 2);
+    }
+
+    private void delete(int slot) {
+        setState(offsetOf(slot), DELETED);
+        live--;
+        reclaimTombstones(slot);
+    }
+
+    // Empties the run of tombstones ending at the slot if the slot after it is empty. Every key lives
+    // behind an unbroken run of non-empty slots from its home slot, so no lookup needs these tombstones.
+    private void reclaimTombstones(int slot) {
+        if (buffer.get(offsetOf((slot + 1) % capacity) + STATE) != EMPTY) {
+            return;
+        }
+        for (int i = 0; i < capacity && buffer.get(offsetOf(slot) + STATE) == DELETED; i++) {
+            setState(offsetOf(slot), EMPTY);
+            slot = (slot + capacity - 1) % capacity;
+        }
+    }
+
+    private void setState(int record, byte state) {
+        long seq = (long) LONGS.getVolatile(buffer, record + SEQ);
+        LONGS.setVolatile(buffer, record + SEQ, seq + 1);
+        buffer.put(record + STATE, state);
+        LONGS.setRelease(buffer, record + SEQ, seq + 2);
+    }
+
+    // Tombstones currently in the table; for tests.
+    int tombstones() {
+        writeLock.lock();
+        try {
+            int count = 0;
+            for (int slot = 0; slot < capacity; slot++) {
+                if (buffer.get(offsetOf(slot) + STATE) == DELETED) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Covers state, lengths, hash, key and payload; not the sequence number or the access time.
+    private int checksum(int record) {
+        crc.reset();
+        int keyLength = Math.min(Math.max(buffer.getShort(record + KEY_LENGTH), 0), MAX_KEY_BYTES);
+        int payloadLength = Math.min(Math.max(buffer.getShort(record + PAYLOAD_LENGTH), 0), payloadCapacity());
+        crc.update(buffer.slice(record + STATE, CRC - STATE));
+        crc.update(buffer.slice(record + KEY_HASH, 4 + keyLength));
+        crc.update(buffer.slice(record + PAYLOAD, payloadLength));
+        return (int) crc.getValue();
+    }
+
+    // Only called by the writer under the write lock, so no seqlock is needed.
+    private boolean matches(int record, int hash, byte[] keyBytes) {
+        if (buffer.getInt(record + KEY_HASH) != hash || buffer.getShort(record + KEY_LENGTH) != keyBytes.length) {
+            return false;
+        }
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (buffer.get(record + KEY + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equalPrefix(byte[] candidate, byte[] keyBytes) {
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (candidate[i] != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int slot(int hash, int probe) {
+        return (int) (((hash & 0xFFFFFFFFL) + probe) % capacity);
+    }
+
+    private int offsetOf(int slot) {
+        return HEADER_SIZE + slot * recordSize;
+    }
+
+    private void assertWritable() {
+        if (readOnly) {
+            throw new IllegalStateException("Conversation store is open read-only");
+        }
+    }
+
+    private static byte[] encodeKey(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length == 0 || bytes.length > MAX_KEY_BYTES) {
+            throw new IllegalArgumentException("Conversation key must be 1 to " + MAX_KEY_BYTES + " UTF-8 bytes");
+        }
+        return bytes;
+    }
+
+    // FNV-1a, so that every JVM reading the file computes the same slots.
+    private static int hash(byte[] keyBytes) {
+        int hash = 0x811C9DC5;
+        for (byte b : keyBytes) {
+            hash = (hash ^ (b & 0xFF)) * 0x01000193;
+        }
+        return hash;
+    }
+
+    public record Stats(int capacity, int live, long evictions) {
+    }
+}
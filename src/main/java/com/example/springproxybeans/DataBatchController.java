@@ -0,0 +1,93 @@
+package com.example.springproxybeans;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * Batch variant of POST /api/data. The body is either a JSON array of DataRequest objects or an
+ * NDJSON stream of them; items are read, processed and answered one at a time, each in its own
+ * isolated request scope, and the results are streamed back as NDJSON lines as they are produced.
+ */
+@RestController
+@RequestMapping("/api/data/batch")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class DataBatchController {
+    
+    private static final int FLUSH_EVERY = 64;
+    
+    private final DataService dataService;
+    private final IsolatedRequestScope isolatedRequestScope;
+    private final ObjectMapper objectMapper;
+    private final DataRequestParser dataRequestParser;
+    
+    @Autowired
+    public DataBatchController(DataService dataService, IsolatedRequestScope isolatedRequestScope,
+                               ObjectMapper objectMapper, DataRequestProperties properties) {
+        this.dataService = dataService;
+        this.isolatedRequestScope = isolatedRequestScope;
+        this.objectMapper = objectMapper;
+        this.dataRequestParser = new DataRequestParser(objectMapper.getFactory(), properties.getMaxBodySize().toBytes());
+    }
+    
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void setDataBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        
+        try (JsonParser items = dataRequestParser.createParser(request.getInputStream());
+             JsonGenerator out = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            out.setRootValueSeparator(null);
+            int index = 0;
+            DataController.DataRequest item;
+            while ((item = nextItem(items, index, out)) != null) {
+                DataController.DataRequest current = item;
+                String result = isolatedRequestScope.call(() -> {
+                    dataService.setDataForCurrentRequest(current.getData());
+                    return "Data set for current request: " + current.getData();
+                });
+                writeLine(out, index, "result", result);
+                if (++index % FLUSH_EVERY == 0) {
+                    out.flush();
+                }
+            }
+        }
+    }
+    
+    // Items are the elements of a top-level array or whitespace-separated values. A malformed item ends
+    // the batch; it is reported in-band because the status has been sent already.
+    private DataController.DataRequest nextItem(JsonParser items, int index, JsonGenerator out) throws IOException {
+        try {
+            JsonToken token = items.nextToken();
+            if (token == JsonToken.START_ARRAY && items.getParsingContext().getParent().inRoot()) {
+                token = items.nextToken();
+            }
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            return dataRequestParser.read(items);
+        } catch (JsonProcessingException e) {
+            writeLine(out, index, "error", "Malformed batch item: " + e.getOriginalMessage());
+            return null;
+        }
+    }
+    
+    private static void writeLine(JsonGenerator out, int index, String field, String value) throws IOException {
+        out.writeStartObject();
+        out.writeNumberField("index", index);
+        out.writeStringField(field, value);
+        out.writeEndObject();
+        out.writeRaw('\n');
+    }
+}
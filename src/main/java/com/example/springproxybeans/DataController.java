@@ -1,13 +1,18 @@
 package com.example.springproxybeans;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/data")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class DataController {
     
+    private static final byte[] DATA_SET_PREFIX = EncodedText.encode("Data set for current request: ");
+    private static final EncodedText NO_DATA = EncodedText.of(EncodedText.encode("No data set for current request"));
+    
     private final DataService dataService;
     
     @Autowired
@@ -16,17 +21,17 @@ public class DataController {
     }
     
     @PostMapping
-    public ResponseEntity<String> setData(@RequestBody DataRequest request) {
+    public ResponseEntity<EncodedText> setData(@RequestBody DataRequest request) {
         dataService.setDataForCurrentRequest(request.getData());
-        return ResponseEntity.ok("Data set for current request: " + request.getData());
+        return ResponseEntity.ok(EncodedText.of(DATA_SET_PREFIX, request.getData()));
     }
     
     @GetMapping
-    public ResponseEntity<String> getData() {
+    public ResponseEntity<EncodedText> getData() {
         if (!dataService.hasDataInCurrentRequest()) {
-            return ResponseEntity.ok("No data set for current request");
+            return ResponseEntity.ok(NO_DATA);
         }
-        return ResponseEntity.ok(dataService.getDataFromCurrentRequest());
+        return ResponseEntity.ok(dataService::writeDataFromCurrentRequest);
     }
     
     public static class DataRequest {
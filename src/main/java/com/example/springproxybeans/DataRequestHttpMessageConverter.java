@@ -0,0 +1,60 @@
+package com.example.springproxybeans;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Reads {@code @RequestBody DataRequest} with {@link DataRequestParser} instead of Jackson databind.
+ * As a bean it is placed ahead of the default converters. It enables its own properties so that it
+ * also works in web slice tests, which do not scan for configuration properties.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(DataRequestProperties.class)
+public class DataRequestHttpMessageConverter extends AbstractHttpMessageConverter<DataController.DataRequest> {
+
+    private final DataRequestParser parser;
+
+    @Autowired
+    public DataRequestHttpMessageConverter(ObjectMapper objectMapper, DataRequestProperties properties) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.parser = new DataRequestParser(objectMapper.getFactory(), properties.getMaxBodySize().toBytes());
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return DataController.DataRequest.class == clazz;
+    }
+
+    @Override
+    protected boolean canWrite(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected DataController.DataRequest readInternal(Class<? extends DataController.DataRequest> clazz,
+                                                      HttpInputMessage inputMessage) throws IOException {
+        try {
+            return parser.parse(inputMessage.getBody(), inputMessage.getHeaders().getContentLength());
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("JSON parse error: " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(DataController.DataRequest request, HttpOutputMessage outputMessage) {
+        // Unreachable: canWrite(MediaType) returns false, so Spring MVC never selects this converter for writing.
+        throw new IllegalStateException("DataRequestHttpMessageConverter does not write; canWrite() is false");
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.springproxybeans;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads {@link DataController.DataRequest} straight from the JSON token stream, without databind or
+ * reflection. It accepts what the data-bound class does:
+ * <ul>
+ * <li>{@code data} may be a string, null or another scalar, which is taken as its text,</li>
+ * <li>unknown fields are skipped,</li>
+ * <li>an object or array as {@code data} is malformed.</li>
+ * </ul>
+ * Bodies are limited to {@code maxBytes}: a declared length over the limit is rejected before
+ * anything is read, and reading stops as soon as an undeclared length passes it. Parsers come from
+ * one shared {@link JsonFactory}, which recycles their buffers across requests.
+ */
+public class DataRequestParser {
+
+    private static final String DATA_FIELD = "data";
+
+    private final JsonFactory jsonFactory;
+    private final long maxBytes;
+
+    public DataRequestParser(JsonFactory jsonFactory, long maxBytes) {
+        // String values can never be longer than the body, which also bounds them in batches.
+        this.jsonFactory = jsonFactory.copy().setStreamReadConstraints(StreamReadConstraints.builder()
+                .maxStringLength((int) Math.min(Integer.MAX_VALUE, maxBytes))
+                .build());
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Parses one request body. {@code contentLength} is the declared length, or -1 if unknown.
+     *
+     * @throws DataRequestTooLargeException if the body is larger than the limit
+     */
+    public DataController.DataRequest parse(InputStream body, long contentLength) throws IOException {
+        if (contentLength > maxBytes) {
+            throw tooLarge();
+        }
+        try (JsonParser parser = jsonFactory.createParser(new LimitedInputStream(body, maxBytes))) {
+            if (parser.nextToken() == null) {
+                throw new JsonParseException(parser, "No content to map DataRequest");
+            }
+            return read(parser);
+        }
+    }
+
+    /**
+     * Creates a parser for a stream of items read with {@link #read(JsonParser)}, such as a batch;
+     * the total length is not limited, only the length of each string value.
+     */
+    public JsonParser createParser(InputStream body) throws IOException {
+        return jsonFactory.createParser(body);
+    }
+
+    /**
+     * Reads the object the parser is positioned on, leaving it on the object's END_OBJECT.
+     */
+    public DataController.DataRequest read(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a DataRequest object but found " + parser.currentToken());
+        }
+        DataController.DataRequest request = new DataController.DataRequest();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken value = parser.nextToken();
+            if (!DATA_FIELD.equals(field)) {
+                parser.skipChildren();
+            } else if (value == JsonToken.VALUE_NULL) {
+                request.setData(null);
+            } else if (value.isScalarValue()) {
+                request.setData(parser.getValueAsString());
+            } else {
+                throw new JsonParseException(parser, "Cannot read DataRequest.data from " + value);
+            }
+        }
+        if (parser.currentToken() != JsonToken.END_OBJECT) {
+            throw new JsonParseException(parser, "Unexpected token " + parser.currentToken() + " in DataRequest");
+        }
+        return request;
+    }
+
+    private DataRequestTooLargeException tooLarge() {
+        return new DataRequestTooLargeException(maxBytes);
+    }
+
+    // Fails the read that would take the stream past the limit, so an oversized body is never buffered.
+    private final class LimitedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0 && --remaining < 0) {
+                throw tooLarge();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            // Ask for one byte more than allowed so a body of exactly the limit still reads to its end.
+            int read = super.read(buffer, offset, (int) Math.min(length, remaining + 1));
+            if (read > 0 && (remaining -= read) < 0) {
+                throw tooLarge();
+            }
+            return read;
+        }
+    }
+}
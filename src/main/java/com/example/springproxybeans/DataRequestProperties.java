@@ -0,0 +1,22 @@
+package com.example.springproxybeans;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "app.data-request")
+public class DataRequestProperties {
+
+    /**
+     * Largest accepted POST /api/data body; larger ones are rejected with 413 before they are buffered.
+     * In batches it caps the size of a single string value.
+     */
+    private DataSize maxBodySize = DataSize.ofKilobytes(64);
+
+    public DataSize getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    public void setMaxBodySize(DataSize maxBodySize) {
+        this.maxBodySize = maxBodySize;
+    }
+}
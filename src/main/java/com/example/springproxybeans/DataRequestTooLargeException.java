@@ -0,0 +1,14 @@
+package com.example.springproxybeans;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * A DataRequest body over the configured limit; answered with 413 Payload Too Large.
+ */
+public class DataRequestTooLargeException extends ResponseStatusException {
+
+    public DataRequestTooLargeException(long maxBytes) {
+        super(HttpStatus.PAYLOAD_TOO_LARGE, "DataRequest body exceeds the limit of " + maxBytes + " bytes");
+    }
+}
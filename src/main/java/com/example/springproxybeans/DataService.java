@@ -2,26 +2,162 @@ package com.example.springproxybeans;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 
 @Service
 public class DataService {
     
     private final RequestScopedDataHolder requestScopedDataHolder;
+    private final RequestFanOut requestFanOut;
+    private final MemoCache memoCache;
+    private final boolean lazyReads;
     
     @Autowired
-    public DataService(RequestScopedDataHolder requestScopedDataHolder) {
+    public DataService(RequestScopedDataHolder requestScopedDataHolder, RequestFanOut requestFanOut,
+                       MemoCache memoCache, RequestScopeProperties properties) {
         this.requestScopedDataHolder = requestScopedDataHolder;
+        this.requestFanOut = requestFanOut;
+        this.memoCache = memoCache;
+        this.lazyReads = properties.isLazyReads();
     }
     
     public void setDataForCurrentRequest(String data) {
+        assertNotInFanOut();
         requestScopedDataHolder.setData(data);
     }
     
+    public long getLongAttribute(RequestAttributeKey.LongKey key, long defaultValue) {
+        TypedAttributeStore attributes = currentAttributes();
+        return attributes != null ? attributes.getLong(key, defaultValue) : defaultValue;
+    }
+    
+    public void setLongAttribute(RequestAttributeKey.LongKey key, long value) {
+        assertNotInFanOut();
+        requestScopedDataHolder.getAttributes().setLong(key, value);
+    }
+    
+    public int getIntAttribute(RequestAttributeKey.IntKey key, int defaultValue) {
+        TypedAttributeStore attributes = currentAttributes();
+        return attributes != null ? attributes.getInt(key, defaultValue) : defaultValue;
+    }
+    
+    public void setIntAttribute(RequestAttributeKey.IntKey key, int value) {
+        assertNotInFanOut();
+        requestScopedDataHolder.getAttributes().setInt(key, value);
+    }
+    
+    public double getDoubleAttribute(RequestAttributeKey.DoubleKey key, double defaultValue) {
+        TypedAttributeStore attributes = currentAttributes();
+        return attributes != null ? attributes.getDouble(key, defaultValue) : defaultValue;
+    }
+    
+    public void setDoubleAttribute(RequestAttributeKey.DoubleKey key, double value) {
+        assertNotInFanOut();
+        requestScopedDataHolder.getAttributes().setDouble(key, value);
+    }
+    
+    // Returns null when the attribute is not set.
+    public <T> T getAttribute(RequestAttributeKey.ObjectKey<T> key) {
+        TypedAttributeStore attributes = currentAttributes();
+        return attributes != null ? attributes.get(key) : null;
+    }
+    
+    // Setting null removes the attribute.
+    public <T> void setAttribute(RequestAttributeKey.ObjectKey<T> key, T value) {
+        assertNotInFanOut();
+        requestScopedDataHolder.getAttributes().set(key, value);
+    }
+    
+    public boolean hasAttribute(RequestAttributeKey key) {
+        TypedAttributeStore attributes = currentAttributes();
+        return attributes != null && attributes.contains(key);
+    }
+    
+    public void removeAttribute(RequestAttributeKey key) {
+        assertNotInFanOut();
+        requestScopedDataHolder.getAttributes().remove(key);
+    }
+    
+    // Runs the subtasks in parallel; each sees a read-only snapshot of the current request's data.
+    public <T> List<T> fanOut(List<? extends Callable<T>> subtasks) {
+        return requestFanOut.invokeAll(subtasks);
+    }
+    
+    // Memoized per request and in the shared tier of MemoCache. Fan-out subtasks read the parent request's
+    // tier but do not add to it; outside a request only the shared tier is used.
+    public <V> V memoize(Object key, Class<V> type, Supplier<? extends V> loader) {
+        return memoCache.get(currentMemo(), key, type, loader);
+    }
+    
+    // With lazy reads, returns null when nothing was written in the current request.
     public String getDataFromCurrentRequest() {
+        if (lazyReads) {
+            RequestScopedDataHolder holder = currentHolder();
+            return holder != null ? holder.getRequestInfo() : null;
+        }
         return requestScopedDataHolder.getRequestInfo();
     }
     
+    // Writes what getDataFromCurrentRequest() returns, UTF-8 encoded; nothing when it would return null.
+    public void writeDataFromCurrentRequest(OutputStream out) throws IOException {
+        RequestScopedDataHolder holder = lazyReads ? currentHolder() : requestScopedDataHolder;
+        if (holder != null) {
+            holder.writeRequestInfo(out);
+        }
+    }
+    
     public boolean hasDataInCurrentRequest() {
+        if (lazyReads) {
+            RequestScopedDataHolder holder = currentHolder();
+            return holder != null && holder.getData() != null;
+        }
         return requestScopedDataHolder.getData() != null;
     }
+    
+    // With lazy reads, null when the current request has no holder yet.
+    private TypedAttributeStore currentAttributes() {
+        if (lazyReads) {
+            RequestScopedDataHolder holder = currentHolder();
+            return holder != null ? holder.getAttributes() : null;
+        }
+        return requestScopedDataHolder.getAttributes();
+    }
+    
+    private RequestMemo currentMemo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        // Peeking skips the scoped proxy's bean factory lookup on the repeated calls memoization is for.
+        RequestScopedDataHolder holder = currentHolder();
+        if (attributes instanceof RequestScopeSnapshot) {
+            RequestMemo memo = holder != null ? holder.getAttributes().get(RequestMemo.KEY) : null;
+            return memo != null ? memo.readOnly() : null;
+        }
+        TypedAttributeStore store = holder != null ? holder.getAttributes() : requestScopedDataHolder.getAttributes();
+        RequestMemo memo = store.get(RequestMemo.KEY);
+        if (memo == null) {
+            memo = new RequestMemo();
+            store.set(RequestMemo.KEY, memo);
+        }
+        return memo;
+    }
+    
+    private static void assertNotInFanOut() {
+        if (RequestContextHolder.getRequestAttributes() instanceof RequestScopeSnapshot) {
+            throw new IllegalStateException("Cannot set request data from a fan-out subtask");
+        }
+    }
+    
+    // The holder of the current request if it has been created, without creating it.
+    private RequestScopedDataHolder currentHolder() {
+        return (RequestScopedDataHolder) RequestScopedTargets.peek(requestScopedDataHolder);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.example.springproxybeans;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@code text/plain} UTF-8 response body that writes itself to the response stream, so constant
+ * parts can stay pre-encoded and variable parts are encoded straight into the servlet buffer.
+ * Written by {@link EncodedTextHttpMessageConverter}.
+ */
+@FunctionalInterface
+public interface EncodedText {
+
+    void writeTo(OutputStream out) throws IOException;
+
+    static byte[] encode(String constant) {
+        return constant.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static EncodedText of(byte[] constant) {
+        return out -> out.write(constant);
+    }
+
+    /**
+     * The pre-encoded {@code prefix} followed by {@code value}, as {@code prefix + value} would render.
+     */
+    static EncodedText of(byte[] prefix, String value) {
+        return out -> {
+            out.write(prefix);
+            Utf8Output.write(out, value);
+        };
+    }
+}
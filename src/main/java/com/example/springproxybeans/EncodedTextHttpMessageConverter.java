@@ -0,0 +1,45 @@
+package com.example.springproxybeans;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes {@link EncodedText} bodies directly to the response stream as {@code text/plain;charset=UTF-8}.
+ * As a bean it is placed ahead of the default converters.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class EncodedTextHttpMessageConverter extends AbstractHttpMessageConverter<EncodedText> {
+
+    public EncodedTextHttpMessageConverter() {
+        super(StandardCharsets.UTF_8, new MediaType("text", "plain", StandardCharsets.UTF_8), MediaType.ALL);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return EncodedText.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected EncodedText readInternal(Class<? extends EncodedText> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("EncodedText is write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(EncodedText text, HttpOutputMessage outputMessage) throws IOException {
+        text.writeTo(outputMessage.getBody());
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.springproxybeans;
+
+public class FanOutException extends RuntimeException {
+
+    public FanOutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.springproxybeans;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.fan-out")
+public class FanOutProperties {
+
+    /**
+     * Executor that runs fan-out subtasks.
+     */
+    private ExecutorType executor = ExecutorType.FORK_JOIN;
+
+    /**
+     * Parallelism of the fork-join executor; ignored for virtual threads.
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * How long a fan-out waits for all of its subtasks before cancelling them.
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+
+    public ExecutorType getExecutor() {
+        return executor;
+    }
+
+    public void setExecutor(ExecutorType executor) {
+        this.executor = executor;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public enum ExecutorType {
+
+        FORK_JOIN,
+
+        /**
+         * One virtual thread per subtask; requires Java 21.
+         */
+        VIRTUAL
+    }
+}
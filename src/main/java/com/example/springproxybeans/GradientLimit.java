@@ -0,0 +1,51 @@
+package com.example.springproxybeans;
+
+/**
+ * Latency-gradient limit: compares each request's latency with a slow moving average of past
+ * latencies. While they agree the limit grows by a small queue allowance; when latency rises above
+ * {@code rttTolerance} times the average, the limit shrinks in proportion (by at most half per
+ * sample). The limit does not grow while less than half of it is in use.
+ */
+public class GradientLimit implements LimitAlgorithm {
+
+    // Samples the long-term average roughly spans
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private double estimate;
+    private double longRtt;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, double rttTolerance, double smoothing) {
+        this.estimate = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+    }
+
+    @Override
+    public int limit() {
+        return (int) estimate;
+    }
+
+    @Override
+    public void onSample(long rttNanos, int inFlight, boolean dropped) {
+        double rtt = Math.max(rttNanos, 1);
+        longRtt = longRtt == 0 ? rtt : longRtt + (rtt - longRtt) / LONG_WINDOW;
+        // After an overload the average lags behind recovered latencies; let it catch up faster.
+        if (longRtt > 2 * rtt) {
+            longRtt *= 0.95;
+        }
+        if (inFlight < estimate / 2 && !dropped) {
+            return;
+        }
+        double gradient = dropped ? 0.5 : Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / rtt));
+        double queueSize = Math.sqrt(estimate);
+        double target = estimate * gradient + queueSize;
+        estimate = estimate * (1 - smoothing) + target * smoothing;
+        estimate = Math.max(minLimit, Math.min(maxLimit, estimate));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.springproxybeans;
+
+import org.springframework.web.context.request.AbstractRequestAttributes;
+import org.springframework.web.context.request.RequestAttributes;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory request attributes for a unit of work nested inside a real request. Request-scoped
+ * attributes start empty and are discarded on completion; session scope and references are
+ * delegated to the enclosing request.
+ */
+public class IsolatedRequestAttributes extends AbstractRequestAttributes {
+
+    private final RequestAttributes parent;
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    public IsolatedRequestAttributes(RequestAttributes parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public Object getAttribute(String name, int scope) {
+        if (scope == SCOPE_REQUEST) {
+            assertActive();
+            return attributes.get(name);
+        }
+        return parent.getAttribute(name, scope);
+    }
+
+    @Override
+    public void setAttribute(String name, Object value, int scope) {
+        if (scope == SCOPE_REQUEST) {
+            assertActive();
+            attributes.put(name, value);
+        } else {
+            parent.setAttribute(name, value, scope);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name, int scope) {
+        if (scope == SCOPE_REQUEST) {
+            assertActive();
+            attributes.remove(name);
+            removeRequestDestructionCallback(name);
+        } else {
+            parent.removeAttribute(name, scope);
+        }
+    }
+
+    @Override
+    public String[] getAttributeNames(int scope) {
+        if (scope == SCOPE_REQUEST) {
+            assertActive();
+            return attributes.keySet().toArray(new String[0]);
+        }
+        return parent.getAttributeNames(scope);
+    }
+
+    @Override
+    public void registerDestructionCallback(String name, Runnable callback, int scope) {
+        if (scope == SCOPE_REQUEST) {
+            registerRequestDestructionCallback(name, callback);
+        } else {
+            parent.registerDestructionCallback(name, callback, scope);
+        }
+    }
+
+    @Override
+    public Object resolveReference(String key) {
+        return parent.resolveReference(key);
+    }
+
+    @Override
+    public String getSessionId() {
+        return parent.getSessionId();
+    }
+
+    @Override
+    public Object getSessionMutex() {
+        return parent.getSessionMutex();
+    }
+
+    @Override
+    protected void updateAccessedSessionAttributes() {
+    }
+
+    private void assertActive() {
+        if (!isRequestActive()) {
+            throw new IllegalStateException("Isolated request scope has already been completed");
+        }
+    }
+}
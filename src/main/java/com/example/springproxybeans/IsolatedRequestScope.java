@@ -0,0 +1,41 @@
+package com.example.springproxybeans;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs work in a fresh request scope nested inside the current request: request-scoped beans the
+ * work touches are new instances, destroyed when the work returns, and the enclosing request's
+ * instances are untouched. Used to give every item of a batch its own RequestScopedDataHolder.
+ */
+@Component
+public class IsolatedRequestScope {
+
+    private final SlotRequestScope slotRequestScope;
+
+    public IsolatedRequestScope(ObjectProvider<SlotRequestScope> slotRequestScope) {
+        this.slotRequestScope = slotRequestScope.getIfAvailable();
+    }
+
+    public <T> T call(Supplier<T> work) {
+        RequestAttributes outer = RequestContextHolder.currentRequestAttributes();
+        IsolatedRequestAttributes isolated = new IsolatedRequestAttributes(outer);
+        RequestContextHolder.setRequestAttributes(isolated);
+        RequestSlots slots = slotRequestScope != null ? slotRequestScope.newSlots() : null;
+        RequestSlots outerSlots = slots != null ? slotRequestScope.bind(slots) : null;
+        try {
+            return work.get();
+        } finally {
+            if (slots != null) {
+                slotRequestScope.unbind(outerSlots);
+                slots.close();
+            }
+            isolated.requestCompleted();
+            RequestContextHolder.setRequestAttributes(outer);
+        }
+    }
+}
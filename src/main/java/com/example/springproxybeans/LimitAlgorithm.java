@@ -0,0 +1,16 @@
+package com.example.springproxybeans;
+
+/**
+ * Adjusts a concurrency limit from the latency of completed requests. Called by
+ * {@link ConcurrencyLimiter} under its lock, so implementations need no synchronization.
+ */
+public interface LimitAlgorithm {
+
+    int limit();
+
+    /**
+     * Records one completed request: its latency, how many requests were in flight when it started,
+     * and whether it failed in a way that signals overload.
+     */
+    void onSample(long rttNanos, int inFlight, boolean dropped);
+}
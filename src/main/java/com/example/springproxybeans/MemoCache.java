@@ -0,0 +1,87 @@
+package com.example.springproxybeans;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier memoization. A {@link RequestMemo} answers repeated lookups within one request without
+ * locking; misses go to a shared, size-bounded Caffeine cache with an optional TTL. Loads of the same
+ * key are single-flight: concurrent callers wait for the one load in progress instead of running the
+ * loader again. Null values and loader exceptions are not cached. A loader must not memoize the key it
+ * is loading. Entries are keyed on the key and the requested type together, so one key memoized as two
+ * types holds two independent values.
+ */
+@Component
+public class MemoCache {
+
+    private final Cache<Object, Object> shared;
+    private final LongAdder requestHits = new LongAdder();
+
+    @Autowired
+    public MemoCache(MemoProperties properties) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .recordStats();
+        if (properties.getTtl() != null) {
+            builder.expireAfterWrite(properties.getTtl());
+        }
+        this.shared = builder.build();
+    }
+
+    /**
+     * Returns the memoized value for the key, loading it on a miss in both tiers. With a null request
+     * tier only the shared tier is used.
+     */
+    public <V> V get(RequestMemo requestTier, Object key, Class<V> type, Supplier<? extends V> loader) {
+        TypedKey typedKey = new TypedKey(type, key);
+        if (requestTier != null) {
+            Object value = requestTier.get(typedKey);
+            if (value != null) {
+                requestHits.increment();
+                return type.cast(value);
+            }
+        }
+        V value = type.cast(shared.get(typedKey, k -> loader.get()));
+        if (requestTier != null && value != null) {
+            requestTier.put(typedKey, value);
+        }
+        return value;
+    }
+
+    public void invalidate(Object key, Class<?> type) {
+        shared.invalidate(new TypedKey(type, key));
+    }
+
+    // Runs pending evictions now instead of on later cache activity.
+    void cleanUp() {
+        shared.cleanUp();
+    }
+
+    public Stats stats() {
+        CacheStats sharedStats = shared.stats();
+        return new Stats(requestHits.sum(), sharedStats.hitCount(), sharedStats.missCount(),
+                sharedStats.evictionCount(), sharedStats.loadFailureCount(), shared.estimatedSize());
+    }
+
+    private record TypedKey(Class<?> type, Object key) {
+    }
+
+    /**
+     * Misses are loads (counted once per single-flight load); evictions include expired entries.
+     */
+    public record Stats(long requestHits, long sharedHits, long misses, long evictions, long loadFailures,
+                        long sharedSize) {
+
+        public double hitRate() {
+            long hits = requestHits + sharedHits;
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.springproxybeans;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.memo")
+public class MemoProperties {
+
+    /**
+     * Maximum number of entries in the shared tier of MemoCache; beyond it, entries are evicted by
+     * frequency and recency (W-TinyLFU).
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * How long a shared entry lives after it was loaded; unset keeps entries until they are evicted.
+     */
+    private Duration ttl;
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.springproxybeans;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/memo/stats")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class MemoStatsController {
+    
+    private final MemoCache memoCache;
+    
+    @Autowired
+    public MemoStatsController(MemoCache memoCache) {
+        this.memoCache = memoCache;
+    }
+    
+    @GetMapping
+    public Map<String, Object> getStats() {
+        MemoCache.Stats stats = memoCache.stats();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("requestHits", stats.requestHits());
+        body.put("sharedHits", stats.sharedHits());
+        body.put("misses", stats.misses());
+        body.put("hitRate", stats.hitRate());
+        body.put("evictions", stats.evictions());
+        body.put("loadFailures", stats.loadFailures());
+        body.put("sharedSize", stats.sharedSize());
+        return body;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.springproxybeans;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/data")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveDataController {
+    
+    private final DataService dataService;
+    private final ReactorRequestScope requestScope;
+    
+    @Autowired
+    public ReactiveDataController(DataService dataService, ReactorRequestScope requestScope) {
+        this.dataService = dataService;
+        this.requestScope = requestScope;
+    }
+    
+    @PostMapping
+    public Mono<String> setData(@RequestBody Mono<DataController.DataRequest> request) {
+        return request.flatMap(body -> requestScope.call(() -> {
+            dataService.setDataForCurrentRequest(body.getData());
+            return "Data set for current request: " + body.getData();
+        }));
+    }
+    
+    @GetMapping
+    public Mono<String> getData() {
+        return requestScope.call(() -> {
+            if (!dataService.hasDataInCurrentRequest()) {
+                return "No data set for current request";
+            }
+            return dataService.getDataFromCurrentRequest();
+        });
+    }
+}
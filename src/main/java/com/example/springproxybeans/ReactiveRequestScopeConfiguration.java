@@ -0,0 +1,29 @@
+package com.example.springproxybeans;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Request scope for {@code spring.main.web-application-type=reactive}: the {@link SlotRequestScope}
+ * serves as the request scope, with each exchange's slots carried in its Reactor context.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Import(SlotRequestScopeBeans.class)
+public class ReactiveRequestScopeConfiguration {
+
+    @Bean
+    public ReactorRequestScope reactorRequestScope(SlotRequestScope slotRequestScope) {
+        return new ReactorRequestScope(slotRequestScope);
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public ReactorRequestScopeWebFilter reactorRequestScopeWebFilter(ReactorRequestScope reactorRequestScope) {
+        return new ReactorRequestScopeWebFilter(reactorRequestScope);
+    }
+}
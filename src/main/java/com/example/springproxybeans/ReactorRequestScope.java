@@ -0,0 +1,42 @@
+package com.example.springproxybeans;
+
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Request scope for the reactive stack. A request's {@link RequestSlots} table lives in the Reactor
+ * {@code Context} of the exchange (put there by {@link ReactorRequestScopeWebFilter}) and is bound to
+ * whichever thread runs a blocking section of the handler, so request-scoped proxies, and
+ * {@link DataService} through them, work the same as on the servlet stack.
+ */
+public class ReactorRequestScope {
+
+    private final SlotRequestScope scope;
+
+    public ReactorRequestScope(SlotRequestScope scope) {
+        this.scope = scope;
+    }
+
+    /**
+     * Evaluates the supplier with the current exchange's request scope bound to the executing thread.
+     */
+    public <T> Mono<T> call(Supplier<T> work) {
+        return Mono.deferContextual(context -> {
+            RequestSlots requestSlots = context.getOrDefault(RequestSlots.class, null);
+            if (requestSlots == null) {
+                return Mono.error(new IllegalStateException("No request scope in the Reactor context"));
+            }
+            RequestSlots previous = scope.bind(requestSlots);
+            try {
+                return Mono.justOrEmpty(work.get());
+            } finally {
+                scope.unbind(previous);
+            }
+        });
+    }
+
+    RequestSlots open() {
+        return scope.newSlots();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.springproxybeans;
+
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Gives every exchange a fresh {@link RequestSlots} table in its Reactor context and completes it,
+ * running destruction callbacks, when the exchange terminates.
+ */
+public class ReactorRequestScopeWebFilter implements WebFilter {
+
+    private final ReactorRequestScope requestScope;
+
+    public ReactorRequestScopeWebFilter(ReactorRequestScope requestScope) {
+        this.requestScope = requestScope;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return Mono.using(requestScope::open,
+                requestSlots -> chain.filter(exchange).contextWrite(context -> context.put(RequestSlots.class, requestSlots)),
+                RequestSlots::close);
+    }
+}
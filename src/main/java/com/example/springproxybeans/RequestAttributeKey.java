@@ -0,0 +1,147 @@
+package com.example.springproxybeans;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pre-registered key of a typed request attribute. Register keys once, typically as static final
+ * fields. Each key has an id that is unique across all keys, and a slot in the array of its value
+ * type, which is how {@link TypedAttributeStore} reads and writes values without boxing or hashing.
+ * Registering a name again returns the existing key when the type matches.
+ */
+public abstract sealed class RequestAttributeKey
+        permits RequestAttributeKey.LongKey, RequestAttributeKey.IntKey,
+                RequestAttributeKey.DoubleKey, RequestAttributeKey.ObjectKey {
+
+    private static final Map<String, RequestAttributeKey> KEYS = new HashMap<>();
+    // Written under the class lock, read without it to size new value arrays.
+    private static volatile int longSlots;
+    private static volatile int intSlots;
+    private static volatile int doubleSlots;
+    private static volatile int objectSlots;
+
+    private final String name;
+    private final int id;
+    private final int slot;
+
+    private RequestAttributeKey(String name, int id, int slot) {
+        this.name = name;
+        this.id = id;
+        this.slot = slot;
+    }
+
+    public static synchronized LongKey ofLong(String name) {
+        if (KEYS.get(name) instanceof LongKey existing) {
+            return existing;
+        }
+        return register(new LongKey(name, nextId(name), longSlots++));
+    }
+
+    public static synchronized IntKey ofInt(String name) {
+        if (KEYS.get(name) instanceof IntKey existing) {
+            return existing;
+        }
+        return register(new IntKey(name, nextId(name), intSlots++));
+    }
+
+    public static synchronized DoubleKey ofDouble(String name) {
+        if (KEYS.get(name) instanceof DoubleKey existing) {
+            return existing;
+        }
+        return register(new DoubleKey(name, nextId(name), doubleSlots++));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static synchronized <T> ObjectKey<T> of(String name, Class<T> type) {
+        if (KEYS.get(name) instanceof ObjectKey<?> existing && existing.type() == type) {
+            return (ObjectKey<T>) existing;
+        }
+        return register(new ObjectKey<>(name, nextId(name), objectSlots++, type));
+    }
+
+    private static int nextId(String name) {
+        RequestAttributeKey existing = KEYS.get(name);
+        if (existing != null) {
+            throw new IllegalArgumentException("Request attribute '" + name + "' is already registered as " + existing);
+        }
+        return KEYS.size();
+    }
+
+    private static <K extends RequestAttributeKey> K register(K key) {
+        KEYS.put(key.name(), key);
+        return key;
+    }
+
+    static int registeredLongSlots() {
+        return longSlots;
+    }
+
+    static int registeredIntSlots() {
+        return intSlots;
+    }
+
+    static int registeredDoubleSlots() {
+        return doubleSlots;
+    }
+
+    static int registeredObjectSlots() {
+        return objectSlots;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    int id() {
+        return id;
+    }
+
+    int slot() {
+        return slot;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + name + "]";
+    }
+
+    public static final class LongKey extends RequestAttributeKey {
+
+        private LongKey(String name, int id, int slot) {
+            super(name, id, slot);
+        }
+    }
+
+    public static final class IntKey extends RequestAttributeKey {
+
+        private IntKey(String name, int id, int slot) {
+            super(name, id, slot);
+        }
+    }
+
+    public static final class DoubleKey extends RequestAttributeKey {
+
+        private DoubleKey(String name, int id, int slot) {
+            super(name, id, slot);
+        }
+    }
+
+    public static final class ObjectKey<T> extends RequestAttributeKey {
+
+        private final Class<T> type;
+
+        private ObjectKey(String name, int id, int slot, Class<T> type) {
+            super(name, id, slot);
+            this.type = type;
+        }
+
+        public Class<T> type() {
+            return type;
+        }
+
+        @Override
+        public String toString() {
+            return "ObjectKey[" + name() + ": " + type.getName() + "]";
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.springproxybeans;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs subtasks of the current request in parallel. All subtasks share one snapshot of the
+ * request's scoped beans, taken before the first one is submitted. The first failure, a timeout or
+ * an interrupt of the caller cancels the subtasks still running by interrupting them, and the call
+ * returns or throws only once every subtask has stopped, so none outlives the request whose beans
+ * it reads.
+ */
+@Component
+public class RequestFanOut implements DisposableBean {
+
+    private final RequestScopeSnapshots snapshots;
+    private final Executor executor;
+    private final Duration timeout;
+
+    public RequestFanOut(RequestScopeSnapshots snapshots, FanOutProperties properties) {
+        this.snapshots = snapshots;
+        this.executor = createExecutor(properties);
+        this.timeout = properties.getTimeout();
+    }
+
+    public <T> List<T> invokeAll(List<? extends Callable<T>> subtasks) {
+        RequestScopeSnapshot snapshot = snapshots.capture();
+        BlockingQueue<Future<T>> completed = new LinkedBlockingQueue<>();
+        CountDownLatch stopped = new CountDownLatch(subtasks.size());
+        List<Subtask<T>> tasks = new ArrayList<>(subtasks.size());
+        for (Callable<T> subtask : subtasks) {
+            tasks.add(new Subtask<>(() -> snapshot.call(subtask), completed, stopped));
+        }
+        int submitted = 0;
+        try {
+            for (Subtask<T> task : tasks) {
+                executor.execute(task);
+                submitted++;
+            }
+            awaitAll(tasks.size(), completed);
+        } catch (RuntimeException e) {
+            for (int i = submitted; i < tasks.size(); i++) {
+                stopped.countDown();
+            }
+            cancelAndAwait(tasks, stopped);
+            throw e instanceof FanOutException ? e : new FanOutException("Could not run fan-out subtasks", e);
+        }
+        List<T> results = new ArrayList<>(tasks.size());
+        for (Subtask<T> task : tasks) {
+            results.add(resultOf(task));
+        }
+        return results;
+    }
+
+    // Waits for every subtask to complete, throwing on the first failure, the timeout or an interrupt.
+    // The waits are managed blocks, so a nested fan-out waiting on a fork-join worker lets the pool add
+    // a worker for the inner subtasks instead of starving them until the timeout.
+    private <T> void awaitAll(int count, BlockingQueue<Future<T>> completed) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (int i = 0; i < count; i++) {
+            Future<T> next;
+            try {
+                NextCompletion<T> wait = new NextCompletion<>(completed, deadline);
+                ForkJoinPool.managedBlock(wait);
+                next = wait.next;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FanOutException("Interrupted while waiting for fan-out subtasks", e);
+            }
+            if (next == null) {
+                throw new FanOutException("Fan-out did not complete within " + timeout, new TimeoutException());
+            }
+            resultOf(next);
+        }
+    }
+
+    // The result of a completed subtask, or its failure as a FanOutException.
+    private static <T> T resultOf(Future<T> completed) {
+        try {
+            return completed.get();
+        } catch (ExecutionException e) {
+            throw new FanOutException("Fan-out subtask failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FanOutException("Interrupted while waiting for fan-out subtasks", e);
+        }
+    }
+
+    private static void cancelAndAwait(List<? extends Subtask<?>> tasks, CountDownLatch stopped) {
+        for (Subtask<?> task : tasks) {
+            task.cancel(true);
+        }
+        boolean interrupted = Thread.interrupted();
+        ForkJoinPool.ManagedBlocker allStopped = new ForkJoinPool.ManagedBlocker() {
+            @Override
+            public boolean block() throws InterruptedException {
+                stopped.await();
+                return true;
+            }
+
+            @Override
+            public boolean isReleasable() {
+                return stopped.getCount() == 0;
+            }
+        };
+        while (true) {
+            try {
+                ForkJoinPool.managedBlock(allStopped);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        } else if (executor instanceof SimpleAsyncTaskExecutor asyncTaskExecutor) {
+            asyncTaskExecutor.close();
+        }
+    }
+
+    private static Executor createExecutor(FanOutProperties properties) {
+        if (properties.getExecutor() == FanOutProperties.ExecutorType.VIRTUAL) {
+            SimpleAsyncTaskExecutor virtualThreads = new SimpleAsyncTaskExecutor("fan-out-");
+            virtualThreads.setVirtualThreads(true);
+            return virtualThreads;
+        }
+        return new ForkJoinPool(properties.getParallelism());
+    }
+
+    // Takes the next completed subtask, or none once the deadline has passed.
+    private static final class NextCompletion<T> implements ForkJoinPool.ManagedBlocker {
+
+        private final BlockingQueue<Future<T>> completed;
+        private final long deadline;
+        private Future<T> next;
+
+        NextCompletion(BlockingQueue<Future<T>> completed, long deadline) {
+            this.completed = completed;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            if (next == null) {
+                next = completed.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return next != null || (next = completed.poll()) != null || System.nanoTime() - deadline >= 0;
+        }
+    }
+
+    // Reports its completion to the fan-out and counts down once it can no longer run, even if cancelled
+    // before it started. A cancelled task clears the interrupt it may have received, so a pooled worker
+    // does not carry it into its next task.
+    private static final class Subtask<T> extends FutureTask<T> {
+
+        private final BlockingQueue<Future<T>> completed;
+        private final CountDownLatch stopped;
+
+        Subtask(Callable<T> callable, BlockingQueue<Future<T>> completed, CountDownLatch stopped) {
+            super(callable);
+            this.completed = completed;
+            this.stopped = stopped;
+        }
+
+        @Override
+        public void run() {
+            try {
+                super.run();
+            } finally {
+                if (isCancelled()) {
+                    Thread.interrupted();
+                }
+                stopped.countDown();
+            }
+        }
+
+        @Override
+        protected void done() {
+            completed.add(this);
+        }
+    }
+}
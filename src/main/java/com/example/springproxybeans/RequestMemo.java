@@ -0,0 +1,49 @@
+package com.example.springproxybeans;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-request tier of {@link MemoCache}, kept as a typed attribute of the request's holder and dropped
+ * with it. It belongs to the request, not to a thread: whichever thread is serving the request, an
+ * async dispatch included, stores values, and the container orders those threads, so it needs no
+ * locking. Fan-out subtasks run concurrently with each other while the request waits for them, so
+ * they get a {@link #readOnly()} view.
+ */
+public final class RequestMemo {
+
+    static final RequestAttributeKey.ObjectKey<RequestMemo> KEY = RequestAttributeKey.of("memo", RequestMemo.class);
+
+    private final Map<Object, Object> values;
+    private final boolean writable;
+
+    public RequestMemo() {
+        this(new HashMap<>(), true);
+    }
+
+    private RequestMemo(Map<Object, Object> values, boolean writable) {
+        this.values = values;
+        this.writable = writable;
+    }
+
+    /**
+     * A view of the same values whose {@link #put} does nothing.
+     */
+    RequestMemo readOnly() {
+        return writable ? new RequestMemo(values, false) : this;
+    }
+
+    Object get(Object key) {
+        return values.get(key);
+    }
+
+    void put(Object key, Object value) {
+        if (writable) {
+            values.put(key, value);
+        }
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.springproxybeans;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lifecycle counters for request-scoped beans and the latency of resolving a scoped proxy to its
+ * target. Everything recorded on the request path is a {@link LongAdder} or {@link LatencyHistogram}
+ * update, so recording never blocks.
+ */
+public class RequestScopeMetrics {
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private final LatencyHistogram resolution = new LatencyHistogram();
+
+    void instanceCreated() {
+        created.increment();
+    }
+
+    void instanceDestroyed() {
+        destroyed.increment();
+    }
+
+    void resolved(long nanos) {
+        resolution.record(nanos);
+    }
+
+    public Snapshot snapshot() {
+        long destroyedCount = destroyed.sum();
+        long createdCount = created.sum();
+        return new Snapshot(createdCount, destroyedCount, createdCount - destroyedCount, resolution.snapshot());
+    }
+
+    /**
+     * Created and destroyed are monotonic counters; rates are their difference between two snapshots.
+     */
+    public record Snapshot(long created, long destroyed, long live, LatencyHistogram.Snapshot resolution) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.springproxybeans;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+/**
+ * Opt-in request scope instrumentation, enabled with {@code app.request-scope.metrics.enabled=true}.
+ * When disabled none of these beans exist, so the request path is exactly the uninstrumented one.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.request-scope.metrics", name = "enabled", havingValue = "true")
+public class RequestScopeMetricsConfiguration {
+
+    // Created early, for the post-processor below; as infrastructure it is not expected to be post-processed.
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static RequestScopeMetrics requestScopeMetrics() {
+        return new RequestScopeMetrics();
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static RequestScopeMetricsPostProcessor requestScopeMetricsPostProcessor(RequestScopeMetrics requestScopeMetrics) {
+        return new RequestScopeMetricsPostProcessor(requestScopeMetrics);
+    }
+}
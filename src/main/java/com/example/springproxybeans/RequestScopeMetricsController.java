@@ -0,0 +1,46 @@
+package com.example.springproxybeans;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/scope/metrics")
+@ConditionalOnProperty(prefix = "app.request-scope.metrics", name = "enabled", havingValue = "true")
+public class RequestScopeMetricsController {
+    
+    private final RequestScopeMetrics metrics;
+    private final ObjectProvider<RequestScopedDataHolderPool> pool;
+    
+    @Autowired
+    public RequestScopeMetricsController(RequestScopeMetrics metrics, ObjectProvider<RequestScopedDataHolderPool> pool) {
+        this.metrics = metrics;
+        this.pool = pool;
+    }
+    
+    @GetMapping
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("scope", metrics.snapshot());
+        pool.ifAvailable(available -> {
+            RequestScopedDataHolderPool.Stats stats = available.stats();
+            Map<String, Object> poolBody = new LinkedHashMap<>();
+            poolBody.put("hits", stats.hits());
+            poolBody.put("misses", stats.misses());
+            poolBody.put("hitRate", stats.hitRate());
+            poolBody.put("releases", stats.releases());
+            poolBody.put("drops", stats.drops());
+            poolBody.put("doubleReleases", stats.doubleReleases());
+            poolBody.put("leaks", stats.leaks());
+            poolBody.put("retained", stats.retained());
+            body.put("pool", poolBody);
+        });
+        return body;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.springproxybeans;
+
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.target.AbstractBeanFactoryBasedTargetSource;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Feeds {@link RequestScopeMetrics}: counts request-scoped beans as they are created and destroyed,
+ * and wraps the target source of every scoped proxy in a {@link TimedTargetSource}. Runs after the
+ * other ordered post-processors so it times whatever target source they installed.
+ */
+public class RequestScopeMetricsPostProcessor implements DestructionAwareBeanPostProcessor, BeanFactoryAware, Ordered {
+
+    private final RequestScopeMetrics metrics;
+    private final Set<Class<?>> requestScopedTypes = ConcurrentHashMap.newKeySet();
+    private ConfigurableListableBeanFactory beanFactory;
+
+    public RequestScopeMetricsPostProcessor(RequestScopeMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (isRequestScoped(beanName)) {
+            requestScopedTypes.add(bean.getClass());
+            metrics.instanceCreated();
+        } else if (bean instanceof Advised advised && !advised.isFrozen()
+                && isScopedProxyTarget(advised)) {
+            advised.setTargetSource(new TimedTargetSource(advised.getTargetSource(), metrics));
+        }
+        return bean;
+    }
+
+    @Override
+    public boolean requiresDestruction(Object bean) {
+        return requestScopedTypes.contains(bean.getClass());
+    }
+
+    @Override
+    public void postProcessBeforeDestruction(Object bean, String beanName) throws BeansException {
+        if (requestScopedTypes.contains(bean.getClass())) {
+            metrics.instanceDestroyed();
+        }
+    }
+
+    private boolean isRequestScoped(String beanName) {
+        return beanFactory.containsBeanDefinition(beanName)
+                && WebApplicationContext.SCOPE_REQUEST.equals(beanFactory.getMergedBeanDefinition(beanName).getScope());
+    }
+
+    private boolean isScopedProxyTarget(Advised advised) {
+        String targetBeanName;
+        if (advised.getTargetSource() instanceof SlotTargetSource slotTargetSource) {
+            targetBeanName = slotTargetSource.getTargetBeanName();
+        } else if (advised.getTargetSource() instanceof AbstractBeanFactoryBasedTargetSource targetSource) {
+            targetBeanName = targetSource.getTargetBeanName();
+        } else {
+            return false;
+        }
+        return isRequestScoped(targetBeanName);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.springproxybeans;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.request-scope")
+public class RequestScopeProperties {
+
+    /**
+     * Report request-scoped beans that were never written as absent instead of creating them on read.
+     */
+    private boolean lazyReads;
+
+    private final Slots slots = new Slots();
+
+    private final Pool pool = new Pool();
+
+    private final Metrics metrics = new Metrics();
+
+    private final Accessors accessors = new Accessors();
+
+    public boolean isLazyReads() {
+        return lazyReads;
+    }
+
+    public void setLazyReads(boolean lazyReads) {
+        this.lazyReads = lazyReads;
+    }
+
+    public Slots getSlots() {
+        return slots;
+    }
+
+    public Pool getPool() {
+        return pool;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public Accessors getAccessors() {
+        return accessors;
+    }
+
+    public static class Slots {
+
+        /**
+         * Store request-scoped beans in per-request slot arrays (see SlotRequestScope).
+         */
+        private boolean enabled;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    public static class Pool {
+
+        /**
+         * Recycle RequestScopedDataHolder instances through a bounded pool (see RequestScopedDataHolderPool).
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of idle instances kept by the pool.
+         */
+        private int capacity = 1024;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    public static class Metrics {
+
+        /**
+         * Count request-scoped instances and time scoped proxy resolution (see RequestScopeMetrics).
+         */
+        private boolean enabled;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    public static class Accessors {
+
+        /**
+         * Inject generated ScopedAccessor classes instead of CGLIB scoped proxies (see ScopedAccessorRegistrar).
+         */
+        private boolean enabled;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.springproxybeans;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Read-only view of the request-scoped beans a request had created when the snapshot was taken.
+ * Bound as the {@link RequestAttributes} of a worker thread, it lets scoped proxies used by a
+ * subtask resolve to the parent request's instances. It cannot create or register new request
+ * beans, and once the parent request completes it refuses every lookup.
+ */
+public class RequestScopeSnapshot implements RequestAttributes {
+
+    private final Map<String, Object> beans;
+    private volatile boolean closed;
+
+    RequestScopeSnapshot(Map<String, Object> beans) {
+        this.beans = Map.copyOf(beans);
+    }
+
+    /**
+     * Runs the task with this snapshot bound to the calling thread, restoring whatever was bound before.
+     * Pooled instances stay pinned while it runs, so the pool does not recycle them under the task.
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        assertOpen();
+        pinAll();
+        RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+        RequestContextHolder.setRequestAttributes(this);
+        try {
+            return task.call();
+        } finally {
+            if (previous != null) {
+                RequestContextHolder.setRequestAttributes(previous);
+            } else {
+                RequestContextHolder.resetRequestAttributes();
+            }
+            beans.values().forEach(RequestScopedDataHolderPool::unpin);
+        }
+    }
+
+    private void pinAll() {
+        int pinned = 0;
+        try {
+            for (Object instance : beans.values()) {
+                RequestScopedDataHolderPool.pin(instance);
+                pinned++;
+            }
+        } catch (RuntimeException e) {
+            beans.values().stream().limit(pinned).forEach(RequestScopedDataHolderPool::unpin);
+            throw e;
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    void close() {
+        closed = true;
+    }
+
+    @Override
+    public Object getAttribute(String name, int scope) {
+        assertOpen();
+        return scope == SCOPE_REQUEST ? beans.get(name) : null;
+    }
+
+    @Override
+    public void setAttribute(String name, Object value, int scope) {
+        throw readOnly();
+    }
+
+    @Override
+    public void removeAttribute(String name, int scope) {
+        throw readOnly();
+    }
+
+    @Override
+    public String[] getAttributeNames(int scope) {
+        assertOpen();
+        return scope == SCOPE_REQUEST ? beans.keySet().toArray(new String[0]) : new String[0];
+    }
+
+    @Override
+    public void registerDestructionCallback(String name, Runnable callback, int scope) {
+        throw readOnly();
+    }
+
+    @Override
+    public Object resolveReference(String key) {
+        return null;
+    }
+
+    @Override
+    public String getSessionId() {
+        throw new UnsupportedOperationException("No session in a request scope snapshot");
+    }
+
+    @Override
+    public Object getSessionMutex() {
+        throw new UnsupportedOperationException("No session in a request scope snapshot");
+    }
+
+    private void assertOpen() {
+        if (closed) {
+            throw new IllegalStateException("The request this snapshot was taken from has completed");
+        }
+    }
+
+    private static IllegalStateException readOnly() {
+        return new IllegalStateException("Request scope snapshot is read-only");
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.springproxybeans;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Takes {@link RequestScopeSnapshot}s of the current request. A snapshot holds references to the
+ * request-scoped instances that exist at capture time (nothing is copied) and is closed by a
+ * destruction callback on the parent request, so it never outlives it.
+ * <p>
+ * On the reactive stack there are no request attributes; the snapshot is then taken from the
+ * {@link RequestSlots} bound by {@link ReactorRequestScope#call} and closed when the exchange completes.
+ */
+@Component
+public class RequestScopeSnapshots {
+
+    private static final String CALLBACK_PREFIX = RequestScopeSnapshots.class.getName() + ".snapshot-";
+
+    private final List<String> requestScopedBeanNames = new ArrayList<>();
+    private final SlotRequestScope slotRequestScope;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public RequestScopeSnapshots(ConfigurableListableBeanFactory beanFactory,
+                                 ObjectProvider<SlotRequestScope> slotRequestScope) {
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            if (WebApplicationContext.SCOPE_REQUEST.equals(beanFactory.getBeanDefinition(beanName).getScope())) {
+                requestScopedBeanNames.add(beanName);
+            }
+        }
+        this.slotRequestScope = slotRequestScope.getIfAvailable();
+    }
+
+    public RequestScopeSnapshot capture() {
+        RequestSlots requestSlots = slotRequestScope != null ? slotRequestScope.currentSlots() : null;
+        RequestAttributes parent = requestSlots != null
+                ? RequestContextHolder.getRequestAttributes()
+                : RequestContextHolder.currentRequestAttributes();
+        if (parent instanceof RequestScopeSnapshot snapshot) {
+            return snapshot;
+        }
+        Map<String, Object> beans = new HashMap<>();
+        for (String beanName : requestScopedBeanNames) {
+            Object instance = requestSlots != null
+                    ? requestSlots.get(slotRequestScope.slotOf(beanName))
+                    : parent.getAttribute(beanName, RequestAttributes.SCOPE_REQUEST);
+            if (instance != null) {
+                beans.put(beanName, instance);
+            }
+        }
+        RequestScopeSnapshot snapshot = new RequestScopeSnapshot(beans);
+        if (parent == null) {
+            requestSlots.registerCompletionCallback(snapshot::close);
+            return snapshot;
+        }
+        parent.registerDestructionCallback(CALLBACK_PREFIX + sequence.incrementAndGet(), snapshot::close,
+                RequestAttributes.SCOPE_REQUEST);
+        return snapshot;
+    }
+}
@@ -5,12 +5,22 @@ import org.springframework.context.annotation.ScopedProxyMode;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 @Component
 @Scope(value = WebApplicationContext.SCOPE_REQUEST, proxyMode = ScopedProxyMode.TARGET_CLASS)
 public class RequestScopedDataHolder {
     
+    private static final byte[] DATA_PREFIX = EncodedText.encode("Data: ");
+    private static final byte[] CREATED_AT = EncodedText.encode(", Created at: ");
+    
     private String data;
-    private Long timestamp;
+    private long timestamp;
+    private final TypedAttributeStore attributes = new TypedAttributeStore();
+    
+    // Set by RequestScopedDataHolderPool on instances it manages.
+    RequestScopedDataHolderPool.Ticket poolTicket;
     
     public RequestScopedDataHolder() {
         this.timestamp = System.currentTimeMillis();
@@ -24,11 +34,31 @@ public class RequestScopedDataHolder {
         this.data = data;
     }
     
-    public Long getTimestamp() {
+    public long getTimestamp() {
         return timestamp;
     }
     
+    // Typed attributes of the request, keyed by RequestAttributeKey.
+    public TypedAttributeStore getAttributes() {
+        return attributes;
+    }
+    
     public String getRequestInfo() {
         return "Data: " + data + ", Created at: " + timestamp;
     }
+    
+    // Writes what getRequestInfo() returns, UTF-8 encoded.
+    public void writeRequestInfo(OutputStream out) throws IOException {
+        out.write(DATA_PREFIX);
+        Utf8Output.write(out, data);
+        out.write(CREATED_AT);
+        Utf8Output.write(out, timestamp);
+    }
+    
+    // Returns a recycled instance to the state of a newly created one.
+    void reset() {
+        this.data = null;
+        this.attributes.clear();
+        this.timestamp = System.currentTimeMillis();
+    }
 }
\ No newline at end of file
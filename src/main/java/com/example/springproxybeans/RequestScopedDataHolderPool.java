@@ -0,0 +1,162 @@
+package com.example.springproxybeans;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.Cleaner;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, striped pool of {@link RequestScopedDataHolder} instances. A thread takes from and returns
+ * to the stripe picked by its identity hash, probing the rest of that stripe only; acquiring and
+ * releasing are lock-free. Every instance the pool hands out carries a {@link Ticket} that detects a
+ * second release and, through a {@link Cleaner}, an instance that was garbage collected without being
+ * released.
+ * <p>
+ * A holder in use outside its request's thread, by a fan-out subtask running on a
+ * {@link RequestScopeSnapshot}, is {@linkplain #pin pinned} for that time. A holder still pinned when
+ * its request releases it is never recycled, so it cannot be reset and handed to the next request
+ * while the subtask reads it.
+ */
+public class RequestScopedDataHolderPool {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestScopedDataHolderPool.class);
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final AtomicReferenceArray<RequestScopedDataHolder> slots;
+    private final int stripeMask;
+    private final int stripeSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder releases = new LongAdder();
+    private final LongAdder drops = new LongAdder();
+    private final LongAdder doubleReleases = new LongAdder();
+    private final LongAdder leaks = new LongAdder();
+    private final LongAdder retained = new LongAdder();
+
+    public RequestScopedDataHolderPool(int capacity) {
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        // Fewer stripes than cores when the capacity is small, so every stripe has a slot and the pool
+        // never holds more than its capacity.
+        stripes = Math.min(stripes, Integer.highestOneBit(Math.max(1, capacity)));
+        this.stripeSize = Math.max(1, capacity / stripes);
+        this.stripeMask = stripes - 1;
+        this.slots = new AtomicReferenceArray<>(stripes * stripeSize);
+    }
+
+    public RequestScopedDataHolder acquire() {
+        int base = stripeBase();
+        for (int i = 0; i < stripeSize; i++) {
+            RequestScopedDataHolder holder = slots.get(base + i);
+            if (holder != null && slots.compareAndSet(base + i, holder, null)) {
+                holder.reset();
+                holder.poolTicket.inUse.set(true);
+                hits.increment();
+                return holder;
+            }
+        }
+        misses.increment();
+        RequestScopedDataHolder holder = new RequestScopedDataHolder();
+        Ticket ticket = new Ticket();
+        holder.poolTicket = ticket;
+        CLEANER.register(holder, () -> {
+            if (ticket.inUse.get()) {
+                leaks.increment();
+            }
+        });
+        return holder;
+    }
+
+    /**
+     * Returns an instance to the pool. Instances the pool did not hand out are ignored; releasing one
+     * that is not in use is counted and logged but otherwise has no effect.
+     */
+    public void release(RequestScopedDataHolder holder) {
+        Ticket ticket = holder.poolTicket;
+        if (ticket == null) {
+            return;
+        }
+        if (!ticket.inUse.compareAndSet(true, false)) {
+            doubleReleases.increment();
+            log.warn("RequestScopedDataHolder released twice", new IllegalStateException("double release"));
+            return;
+        }
+        if (ticket.pins.get() > 0) {
+            retained.increment();
+            log.warn("RequestScopedDataHolder released while a fan-out subtask still uses it; not recycled");
+            return;
+        }
+        // Drops the finished request's data, memo and attributes now, so an idle pooled holder does not keep
+        // them reachable until it is acquired again.
+        holder.reset();
+        releases.increment();
+        int base = stripeBase();
+        for (int i = 0; i < stripeSize; i++) {
+            if (slots.get(base + i) == null && slots.compareAndSet(base + i, null, holder)) {
+                return;
+            }
+        }
+        drops.increment();
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), releases.sum(), drops.sum(), doubleReleases.sum(), leaks.sum(),
+                retained.sum());
+    }
+
+    /**
+     * Marks a pooled holder as in use by another thread until {@link #unpin}; other instances are
+     * ignored. Fails if the holder was already released, since it may belong to another request by now.
+     */
+    static void pin(Object instance) {
+        if (instance instanceof RequestScopedDataHolder holder && holder.poolTicket != null) {
+            Ticket ticket = holder.poolTicket;
+            ticket.pins.incrementAndGet();
+            // Pairs with release(), which clears inUse before reading pins: one of them sees the other.
+            if (!ticket.inUse.get()) {
+                ticket.pins.decrementAndGet();
+                throw new IllegalStateException("RequestScopedDataHolder was already returned to the pool");
+            }
+        }
+    }
+
+    static void unpin(Object instance) {
+        if (instance instanceof RequestScopedDataHolder holder && holder.poolTicket != null) {
+            holder.poolTicket.pins.decrementAndGet();
+        }
+    }
+
+    // Stable per thread, so a platform thread returns holders to the stripe it takes them from; spreads
+    // virtual threads, whose ids are a plain counter.
+    private int stripeBase() {
+        int hash = System.identityHashCode(Thread.currentThread());
+        return ((hash ^ (hash >>> 16)) & stripeMask) * stripeSize;
+    }
+
+    static final class Ticket {
+
+        final AtomicBoolean inUse = new AtomicBoolean(true);
+        final AtomicInteger pins = new AtomicInteger();
+    }
+
+    /**
+     * {@code retained} counts holders not recycled because a fan-out subtask still used them at release.
+     */
+    public record Stats(long hits, long misses, long releases, long drops, long doubleReleases, long leaks,
+                        long retained) {
+
+        public double hitRate() {
+            long acquires = hits + misses;
+            return acquires == 0 ? 0 : (double) hits / acquires;
+        }
+    }
+}
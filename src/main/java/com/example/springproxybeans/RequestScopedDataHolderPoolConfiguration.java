@@ -0,0 +1,53 @@
+package com.example.springproxybeans;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Opt-in pooling of request-scoped {@link RequestScopedDataHolder} instances, enabled with
+ * {@code app.request-scope.pool.enabled=true}: the scope obtains holders from the pool instead of
+ * constructing them, and their destruction at the end of the request returns them to it.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.request-scope.pool", name = "enabled", havingValue = "true")
+public class RequestScopedDataHolderPoolConfiguration {
+
+    @Bean
+    public RequestScopedDataHolderPool requestScopedDataHolderPool(RequestScopeProperties properties) {
+        return new RequestScopedDataHolderPool(properties.getPool().getCapacity());
+    }
+
+    @Bean
+    public static BeanFactoryPostProcessor requestScopedDataHolderPoolRegistrar() {
+        return RequestScopedDataHolderPoolConfiguration::supplyFromPool;
+    }
+
+    @Bean
+    public static RequestScopedDataHolderPoolPostProcessor requestScopedDataHolderPoolPostProcessor(
+            ConfigurableListableBeanFactory beanFactory) {
+        return new RequestScopedDataHolderPoolPostProcessor(poolOf(beanFactory));
+    }
+
+    static void supplyFromPool(ConfigurableListableBeanFactory beanFactory) {
+        SingletonSupplier<RequestScopedDataHolderPool> pool = poolOf(beanFactory);
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            if (WebApplicationContext.SCOPE_REQUEST.equals(definition.getScope())
+                    && RequestScopedDataHolder.class.getName().equals(definition.getBeanClassName())
+                    && definition instanceof AbstractBeanDefinition beanDefinition) {
+                beanDefinition.setInstanceSupplier(() -> pool.obtain().acquire());
+            }
+        }
+    }
+
+    private static SingletonSupplier<RequestScopedDataHolderPool> poolOf(ConfigurableListableBeanFactory beanFactory) {
+        return SingletonSupplier.of(() -> beanFactory.getBean(RequestScopedDataHolderPool.class));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.springproxybeans;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+
+import java.util.function.Supplier;
+
+/**
+ * Hands request-scoped holders back to the {@link RequestScopedDataHolderPool} when the scope
+ * destroys them. Declaring that holders need destruction is also what makes the request scope
+ * register a destruction callback for them.
+ */
+public class RequestScopedDataHolderPoolPostProcessor implements DestructionAwareBeanPostProcessor {
+
+    private final Supplier<RequestScopedDataHolderPool> pool;
+
+    public RequestScopedDataHolderPoolPostProcessor(Supplier<RequestScopedDataHolderPool> pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public boolean requiresDestruction(Object bean) {
+        return bean instanceof RequestScopedDataHolder holder && holder.poolTicket != null;
+    }
+
+    @Override
+    public void postProcessBeforeDestruction(Object bean, String beanName) throws BeansException {
+        if (bean instanceof RequestScopedDataHolder holder) {
+            pool.get().release(holder);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.springproxybeans;
+
+import org.springframework.aop.TargetSource;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.target.AbstractBeanFactoryBasedTargetSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Looks up the instance behind a request-scoped proxy without creating it.
+ */
+public final class RequestScopedTargets {
+
+    private RequestScopedTargets() {
+    }
+
+    /**
+     * Returns the instance the given scoped proxy currently resolves to, or {@code null} if the
+     * current request has not created one yet (or there is no current request). Generated
+     * {@link ScopedAccessor}s are handled like scoped proxies; other objects are returned as is.
+     */
+    public static Object peek(Object scopedProxy) {
+        if (scopedProxy instanceof ScopedAccessor accessor) {
+            return accessor.scopedTargetLookup().peek();
+        }
+        if (!(scopedProxy instanceof Advised advised)) {
+            return scopedProxy;
+        }
+        TargetSource targetSource = advised.getTargetSource();
+        if (targetSource instanceof TimedTargetSource timedTargetSource) {
+            targetSource = timedTargetSource.getDelegate();
+        }
+        String targetBeanName;
+        if (targetSource instanceof SlotTargetSource slotTargetSource) {
+            if (slotTargetSource.isBound()) {
+                return slotTargetSource.peek();
+            }
+            targetBeanName = slotTargetSource.getTargetBeanName();
+        } else if (targetSource instanceof AbstractBeanFactoryBasedTargetSource beanTargetSource) {
+            targetBeanName = beanTargetSource.getTargetBeanName();
+        } else {
+            throw new IllegalArgumentException("Not a scoped proxy: " + scopedProxy.getClass().getName());
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null ? attributes.getAttribute(targetBeanName, RequestAttributes.SCOPE_REQUEST) : null;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.springproxybeans;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-request storage for {@link SlotRequestScope}: one array cell per request-scoped bean,
+ * indexed by the slot the bean was given when the application context started.
+ */
+public final class RequestSlots {
+
+    private final Object[] instances;
+    private final Runnable[] destructionCallbacks;
+    private List<Runnable> completionCallbacks;
+    private boolean closed;
+
+    RequestSlots(int size) {
+        this.instances = new Object[size];
+        this.destructionCallbacks = new Runnable[size];
+    }
+
+    Object get(int slot) {
+        return instances[slot];
+    }
+
+    void put(int slot, Object instance) {
+        if (closed) {
+            throw new IllegalStateException("Request scope has already been completed");
+        }
+        instances[slot] = instance;
+    }
+
+    Object remove(int slot) {
+        Object instance = instances[slot];
+        instances[slot] = null;
+        destructionCallbacks[slot] = null;
+        return instance;
+    }
+
+    void registerDestructionCallback(int slot, Runnable callback) {
+        destructionCallbacks[slot] = callback;
+    }
+
+    /**
+     * Registers a callback that runs when the request completes, before the beans' destruction callbacks.
+     */
+    void registerCompletionCallback(Runnable callback) {
+        if (closed) {
+            throw new IllegalStateException("Request scope has already been completed");
+        }
+        if (completionCallbacks == null) {
+            completionCallbacks = new ArrayList<>();
+        }
+        completionCallbacks.add(callback);
+    }
+
+    /**
+     * Runs the registered completion and destruction callbacks and drops every instance; the equivalent of
+     * {@code ServletRequestAttributes.requestCompleted()} for the slot store.
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (completionCallbacks != null) {
+            completionCallbacks.forEach(Runnable::run);
+            completionCallbacks = null;
+        }
+        for (int slot = 0; slot < instances.length; slot++) {
+            Runnable callback = destructionCallbacks[slot];
+            destructionCallbacks[slot] = null;
+            instances[slot] = null;
+            if (callback != null) {
+                callback.run();
+            }
+        }
+    }
+}
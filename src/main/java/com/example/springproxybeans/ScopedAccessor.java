@@ -0,0 +1,10 @@
+package com.example.springproxybeans;
+
+/**
+ * Implemented by the {@code <Bean>ScopedAccessor} classes generated for request-scoped beans; the
+ * compile-time counterpart of a scoped proxy.
+ */
+public interface ScopedAccessor {
+
+    ScopedTargetLookup<?> scopedTargetLookup();
+}
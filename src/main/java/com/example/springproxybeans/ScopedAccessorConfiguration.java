@@ -0,0 +1,19 @@
+package com.example.springproxybeans;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Opt-in use of the generated scoped accessors in place of CGLIB scoped proxies, enabled with
+ * {@code app.request-scope.accessors.enabled=true}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.request-scope.accessors", name = "enabled", havingValue = "true")
+public class ScopedAccessorConfiguration {
+
+    @Bean
+    public static ScopedAccessorRegistrar scopedAccessorRegistrar() {
+        return new ScopedAccessorRegistrar();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.springproxybeans;
+
+import org.springframework.aop.scope.ScopedProxyFactoryBean;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Replaces the scoped proxy of every request-scoped bean that has a generated
+ * {@code <Bean>ScopedAccessor} with that accessor, so no CGLIB proxy class is generated for it.
+ * Beans without a generated accessor keep their scoped proxy.
+ */
+public class ScopedAccessorRegistrar implements BeanFactoryPostProcessor {
+
+    static final String ACCESSOR_SUFFIX = "ScopedAccessor";
+
+    private static final String TARGET_BEAN_NAME = "targetBeanName";
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        BeanDefinitionRegistry registry = (BeanDefinitionRegistry) beanFactory;
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition proxyDefinition = beanFactory.getBeanDefinition(beanName);
+            if (!ScopedProxyFactoryBean.class.getName().equals(proxyDefinition.getBeanClassName())
+                    || !proxyDefinition.getPropertyValues().contains(TARGET_BEAN_NAME)) {
+                continue;
+            }
+            String targetBeanName = (String) proxyDefinition.getPropertyValues().get(TARGET_BEAN_NAME);
+            BeanDefinition targetDefinition = beanFactory.getBeanDefinition(targetBeanName);
+            Class<?> accessorClass = accessorClassFor(targetDefinition, beanFactory.getBeanClassLoader());
+            if (accessorClass != null) {
+                registry.removeBeanDefinition(beanName);
+                registry.registerBeanDefinition(beanName,
+                        accessorDefinition(accessorClass, proxyDefinition, beanFactory, targetBeanName));
+            }
+        }
+    }
+
+    private static Class<?> accessorClassFor(BeanDefinition targetDefinition, ClassLoader classLoader) {
+        String targetClassName = targetDefinition.getBeanClassName();
+        if (!WebApplicationContext.SCOPE_REQUEST.equals(targetDefinition.getScope()) || targetClassName == null) {
+            return null;
+        }
+        String accessorClassName = targetClassName + ACCESSOR_SUFFIX;
+        return ClassUtils.isPresent(accessorClassName, classLoader)
+                ? ClassUtils.resolveClassName(accessorClassName, classLoader) : null;
+    }
+
+    private static RootBeanDefinition accessorDefinition(Class<?> accessorClass, BeanDefinition proxyDefinition,
+                                                         ConfigurableListableBeanFactory beanFactory,
+                                                         String targetBeanName) {
+        Constructor<?> constructor = ClassUtils.getConstructorIfAvailable(accessorClass, ScopedTargetLookup.class);
+        RootBeanDefinition definition = new RootBeanDefinition(accessorClass);
+        definition.setInstanceSupplier(() ->
+                BeanUtils.instantiateClass(constructor, new ScopedTargetLookup<>(beanFactory, targetBeanName)));
+        definition.setPrimary(proxyDefinition.isPrimary());
+        definition.setAutowireCandidate(proxyDefinition.isAutowireCandidate());
+        definition.setRole(proxyDefinition.getRole());
+        if (proxyDefinition instanceof AbstractBeanDefinition abstractDefinition) {
+            definition.copyQualifiersFrom(abstractDefinition);
+        }
+        return definition;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.springproxybeans;
+
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.config.Scope;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Resolves the current request's instance of one request-scoped bean for a generated
+ * {@link ScopedAccessor}. An existing instance is read straight from where the request scope keeps
+ * it (the slot table of a {@link SlotRequestScope}, otherwise the request attributes); only a
+ * missing one goes through the bean factory, which creates it in the scope.
+ */
+public final class ScopedTargetLookup<T> {
+
+    private final ConfigurableBeanFactory beanFactory;
+    private final String targetBeanName;
+    private final SlotRequestScope slotScope;
+    private final int slot;
+
+    public ScopedTargetLookup(ConfigurableBeanFactory beanFactory, String targetBeanName) {
+        this.beanFactory = beanFactory;
+        this.targetBeanName = targetBeanName;
+        Scope requestScope = beanFactory.getRegisteredScope(WebApplicationContext.SCOPE_REQUEST);
+        int slotOfTarget = requestScope instanceof SlotRequestScope slotRequestScope
+                ? slotRequestScope.slotOf(targetBeanName) : -1;
+        this.slotScope = slotOfTarget >= 0 ? (SlotRequestScope) requestScope : null;
+        this.slot = slotOfTarget;
+    }
+
+    public String getTargetBeanName() {
+        return targetBeanName;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get() {
+        T target = peek();
+        return target != null ? target : (T) beanFactory.getBean(targetBeanName);
+    }
+
+    /**
+     * Returns the current request's instance without creating it, or {@code null} if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        if (slotScope != null) {
+            RequestSlots requestSlots = slotScope.currentSlots();
+            if (requestSlots != null) {
+                return (T) requestSlots.get(slot);
+            }
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null ? (T) attributes.getAttribute(targetBeanName, RequestAttributes.SCOPE_REQUEST) : null;
+    }
+}
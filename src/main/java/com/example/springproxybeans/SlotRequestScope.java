@@ -0,0 +1,132 @@
+package com.example.springproxybeans;
+
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.Scope;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.request.RequestScope;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Request scope that stores bean instances in a small per-request array instead of servlet request
+ * attributes. Every request-scoped bean definition gets a fixed slot when the context starts; a
+ * {@link RequestSlots} table is bound to the serving thread for the duration of the request.
+ * <p>
+ * Calls made on a thread with no bound table (async dispatches, threads the request handed work to)
+ * fall back to the scope that was registered before, so they behave exactly as with the default
+ * request scope.
+ */
+public class SlotRequestScope implements Scope {
+
+    private final ThreadLocal<RequestSlots> currentSlots = new ThreadLocal<>();
+
+    private Map<String, Integer> slots = Map.of();
+    private Scope fallback = new RequestScope();
+
+    /**
+     * Replaces the registered request scope with this one and assigns a slot to every bean
+     * definition that is request-scoped at this point.
+     */
+    public void register(ConfigurableListableBeanFactory beanFactory) {
+        Scope registered = beanFactory.getRegisteredScope(WebApplicationContext.SCOPE_REQUEST);
+        if (registered != null && registered != this) {
+            fallback = registered;
+        }
+        Map<String, Integer> assigned = new HashMap<>();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            if (WebApplicationContext.SCOPE_REQUEST.equals(definition.getScope())) {
+                assigned.put(beanName, assigned.size());
+            }
+        }
+        slots = Map.copyOf(assigned);
+        beanFactory.registerScope(WebApplicationContext.SCOPE_REQUEST, this);
+    }
+
+    public RequestSlots newSlots() {
+        return new RequestSlots(slots.size());
+    }
+
+    /**
+     * Binds the given table to the current thread and returns the one it replaces, which should be
+     * handed back to {@link #unbind(RequestSlots)} once the request is done.
+     */
+    public RequestSlots bind(RequestSlots requestSlots) {
+        RequestSlots previous = currentSlots.get();
+        currentSlots.set(requestSlots);
+        return previous;
+    }
+
+    public void unbind(RequestSlots previous) {
+        if (previous == null) {
+            currentSlots.remove();
+        } else {
+            currentSlots.set(previous);
+        }
+    }
+
+    public RequestSlots currentSlots() {
+        return currentSlots.get();
+    }
+
+    int slotCount() {
+        return slots.size();
+    }
+
+    /**
+     * Returns the slot assigned to the given bean, or {@code -1} if the bean is not stored here.
+     */
+    public int slotOf(String beanName) {
+        Integer slot = slots.get(beanName);
+        return slot != null ? slot : -1;
+    }
+
+    @Override
+    public Object get(String name, ObjectFactory<?> objectFactory) {
+        RequestSlots requestSlots = currentSlots.get();
+        Integer slot = slots.get(name);
+        if (requestSlots == null || slot == null) {
+            return fallback.get(name, objectFactory);
+        }
+        Object instance = requestSlots.get(slot);
+        if (instance == null) {
+            instance = objectFactory.getObject();
+            requestSlots.put(slot, instance);
+        }
+        return instance;
+    }
+
+    @Override
+    public Object remove(String name) {
+        RequestSlots requestSlots = currentSlots.get();
+        Integer slot = slots.get(name);
+        if (requestSlots == null || slot == null) {
+            return fallback.remove(name);
+        }
+        return requestSlots.remove(slot);
+    }
+
+    @Override
+    public void registerDestructionCallback(String name, Runnable callback) {
+        RequestSlots requestSlots = currentSlots.get();
+        Integer slot = slots.get(name);
+        if (requestSlots == null || slot == null) {
+            fallback.registerDestructionCallback(name, callback);
+            return;
+        }
+        requestSlots.registerDestructionCallback(slot, callback);
+    }
+
+    @Override
+    public Object resolveContextualObject(String key) {
+        return fallback.resolveContextualObject(key);
+    }
+
+    @Override
+    public String getConversationId() {
+        return fallback.getConversationId();
+    }
+}
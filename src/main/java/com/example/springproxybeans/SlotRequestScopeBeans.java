@@ -0,0 +1,26 @@
+package com.example.springproxybeans;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * The {@link SlotRequestScope} and its registration, shared by the servlet and the reactive
+ * configurations; imported by whichever of them is active.
+ */
+class SlotRequestScopeBeans {
+
+    @Bean
+    public static SlotRequestScope slotRequestScope() {
+        return new SlotRequestScope();
+    }
+
+    @Bean
+    public static BeanFactoryPostProcessor slotRequestScopeRegistrar(SlotRequestScope slotRequestScope) {
+        return slotRequestScope::register;
+    }
+
+    @Bean
+    public static SlotScopedProxyPostProcessor slotScopedProxyPostProcessor(SlotRequestScope slotRequestScope) {
+        return new SlotScopedProxyPostProcessor(slotRequestScope);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.springproxybeans;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.Ordered;
+
+/**
+ * Opt-in replacement of the servlet request scope by {@link SlotRequestScope}, enabled with
+ * {@code app.request-scope.slots.enabled=true}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "app.request-scope.slots", name = "enabled", havingValue = "true")
+@Import(SlotRequestScopeBeans.class)
+public class SlotRequestScopeConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<SlotRequestScopeFilter> slotRequestScopeFilter(SlotRequestScope slotRequestScope) {
+        FilterRegistrationBean<SlotRequestScopeFilter> registration =
+                new FilterRegistrationBean<>(new SlotRequestScopeFilter(slotRequestScope));
+        // right after ConcurrencyLimitFilter, so rejected requests get no slot table
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
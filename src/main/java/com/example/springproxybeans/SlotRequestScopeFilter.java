@@ -0,0 +1,35 @@
+package com.example.springproxybeans;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds a fresh {@link RequestSlots} table around the request and completes it afterwards, running
+ * the destruction callbacks of every request-scoped bean the request created.
+ */
+public class SlotRequestScopeFilter extends OncePerRequestFilter {
+
+    private final SlotRequestScope scope;
+
+    public SlotRequestScopeFilter(SlotRequestScope scope) {
+        this.scope = scope;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestSlots requestSlots = scope.newSlots();
+        RequestSlots previous = scope.bind(requestSlots);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.unbind(previous);
+            requestSlots.close();
+        }
+    }
+}
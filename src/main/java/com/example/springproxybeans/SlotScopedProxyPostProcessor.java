@@ -0,0 +1,47 @@
+package com.example.springproxybeans;
+
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.target.SimpleBeanTargetSource;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+/**
+ * Points scoped proxies whose target is stored in a {@link SlotRequestScope} at a
+ * {@link SlotTargetSource}, so a proxied call on an existing instance skips the bean factory lookup.
+ */
+public class SlotScopedProxyPostProcessor implements BeanPostProcessor, BeanFactoryAware, Ordered {
+
+    private final SlotRequestScope scope;
+    private BeanFactory beanFactory;
+
+    public SlotScopedProxyPostProcessor(SlotRequestScope scope) {
+        this.scope = scope;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    // Ahead of post-processors that wrap the target source, such as RequestScopeMetricsPostProcessor.
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof Advised advised && !advised.isFrozen()
+                && advised.getTargetSource() instanceof SimpleBeanTargetSource targetSource) {
+            int slot = scope.slotOf(targetSource.getTargetBeanName());
+            if (slot >= 0) {
+                advised.setTargetSource(new SlotTargetSource(scope, slot, beanFactory,
+                        targetSource.getTargetBeanName(), targetSource.getTargetClass()));
+            }
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.springproxybeans;
+
+import org.springframework.aop.TargetSource;
+import org.springframework.beans.factory.BeanFactory;
+
+/**
+ * Target source for a scoped proxy whose target lives in a {@link SlotRequestScope}. An instance
+ * that already exists in the current request is read straight from its slot; only the first call
+ * of a request (or a call without a bound slot table) goes through the bean factory.
+ */
+public class SlotTargetSource implements TargetSource {
+
+    private final SlotRequestScope scope;
+    private final int slot;
+    private final BeanFactory beanFactory;
+    private final String targetBeanName;
+    private final Class<?> targetClass;
+
+    public SlotTargetSource(SlotRequestScope scope, int slot, BeanFactory beanFactory, String targetBeanName,
+                            Class<?> targetClass) {
+        this.scope = scope;
+        this.slot = slot;
+        this.beanFactory = beanFactory;
+        this.targetBeanName = targetBeanName;
+        this.targetClass = targetClass;
+    }
+
+    public String getTargetBeanName() {
+        return targetBeanName;
+    }
+
+    /**
+     * Whether the calling thread has a slot table bound, i.e. whether {@link #peek()} is authoritative.
+     */
+    public boolean isBound() {
+        return scope.currentSlots() != null;
+    }
+
+    /**
+     * Returns the instance in the current request's slot without creating one.
+     */
+    public Object peek() {
+        RequestSlots requestSlots = scope.currentSlots();
+        return requestSlots != null ? requestSlots.get(slot) : null;
+    }
+
+    @Override
+    public Class<?> getTargetClass() {
+        return targetClass;
+    }
+
+    @Override
+    public boolean isStatic() {
+        return false;
+    }
+
+    @Override
+    public Object getTarget() {
+        RequestSlots requestSlots = scope.currentSlots();
+        if (requestSlots != null) {
+            Object instance = requestSlots.get(slot);
+            if (instance != null) {
+                return instance;
+            }
+        }
+        return beanFactory.getBean(targetBeanName);
+    }
+
+    @Override
+    public void releaseTarget(Object target) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.springproxybeans;
+
+import org.springframework.aop.TargetSource;
+
+/**
+ * Wraps the target source of a scoped proxy and records how long each target lookup takes.
+ */
+public class TimedTargetSource implements TargetSource {
+
+    private final TargetSource delegate;
+    private final RequestScopeMetrics metrics;
+
+    public TimedTargetSource(TargetSource delegate, RequestScopeMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    public TargetSource getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Class<?> getTargetClass() {
+        return delegate.getTargetClass();
+    }
+
+    @Override
+    public boolean isStatic() {
+        return false;
+    }
+
+    @Override
+    public Object getTarget() throws Exception {
+        long start = System.nanoTime();
+        try {
+            return delegate.getTarget();
+        } finally {
+            metrics.resolved(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void releaseTarget(Object target) throws Exception {
+        delegate.releaseTarget(target);
+    }
+}
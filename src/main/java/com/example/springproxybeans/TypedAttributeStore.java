@@ -0,0 +1,134 @@
+package com.example.springproxybeans;
+
+import java.util.Arrays;
+
+/**
+ * Typed request attributes indexed by {@link RequestAttributeKey}. Long, int and double values live
+ * in primitive arrays, other values in an object array, and a bit per key id records which attributes
+ * are set. Each array is allocated on the first write of its type and kept across {@link #clear()}, so
+ * a pooled holder reuses it. Not thread-safe: a request writes its attributes from one thread, and
+ * fan-out subtasks only read them.
+ */
+public final class TypedAttributeStore {
+
+    private static final long[] NO_BITS = new long[0];
+
+    private long[] present = NO_BITS;
+    private long[] longs;
+    private int[] ints;
+    private double[] doubles;
+    private Object[] objects;
+
+    public boolean contains(RequestAttributeKey key) {
+        int word = key.id() >>> 6;
+        return word < present.length && (present[word] & (1L << key.id())) != 0;
+    }
+
+    public long getLong(RequestAttributeKey.LongKey key, long defaultValue) {
+        return contains(key) ? longs[key.slot()] : defaultValue;
+    }
+
+    public void setLong(RequestAttributeKey.LongKey key, long value) {
+        if (longs == null || key.slot() >= longs.length) {
+            longs = grow(longs, key.slot());
+        }
+        longs[key.slot()] = value;
+        markPresent(key);
+    }
+
+    public int getInt(RequestAttributeKey.IntKey key, int defaultValue) {
+        return contains(key) ? ints[key.slot()] : defaultValue;
+    }
+
+    public void setInt(RequestAttributeKey.IntKey key, int value) {
+        if (ints == null || key.slot() >= ints.length) {
+            ints = grow(ints, key.slot());
+        }
+        ints[key.slot()] = value;
+        markPresent(key);
+    }
+
+    public double getDouble(RequestAttributeKey.DoubleKey key, double defaultValue) {
+        return contains(key) ? doubles[key.slot()] : defaultValue;
+    }
+
+    public void setDouble(RequestAttributeKey.DoubleKey key, double value) {
+        if (doubles == null || key.slot() >= doubles.length) {
+            doubles = grow(doubles, key.slot());
+        }
+        doubles[key.slot()] = value;
+        markPresent(key);
+    }
+
+    // Returns null when the attribute is not set.
+    public <T> T get(RequestAttributeKey.ObjectKey<T> key) {
+        return contains(key) ? key.type().cast(objects[key.slot()]) : null;
+    }
+
+    // Setting null removes the attribute.
+    public <T> void set(RequestAttributeKey.ObjectKey<T> key, T value) {
+        if (value == null) {
+            remove(key);
+            return;
+        }
+        if (objects == null || key.slot() >= objects.length) {
+            objects = grow(objects, key.slot());
+        }
+        objects[key.slot()] = key.type().cast(value);
+        markPresent(key);
+    }
+
+    public void remove(RequestAttributeKey key) {
+        if (contains(key)) {
+            present[key.id() >>> 6] &= ~(1L << key.id());
+            if (key instanceof RequestAttributeKey.ObjectKey<?>) {
+                objects[key.slot()] = null;
+            }
+        }
+    }
+
+    // Unsets every attribute and drops object references; the arrays are kept for reuse.
+    void clear() {
+        Arrays.fill(present, 0L);
+        if (objects != null) {
+            Arrays.fill(objects, null);
+        }
+    }
+
+    private void markPresent(RequestAttributeKey key) {
+        int word = key.id() >>> 6;
+        if (word >= present.length) {
+            present = Arrays.copyOf(present, word + 1);
+        }
+        present[word] |= 1L << key.id();
+    }
+
+    // The first array has room for every key of its type registered so far; later growth doubles it.
+    private static long[] grow(long[] values, int slot) {
+        if (values == null) {
+            return new long[Math.max(slot + 1, RequestAttributeKey.registeredLongSlots())];
+        }
+        return Arrays.copyOf(values, Math.max(slot + 1, values.length * 2));
+    }
+
+    private static int[] grow(int[] values, int slot) {
+        if (values == null) {
+            return new int[Math.max(slot + 1, RequestAttributeKey.registeredIntSlots())];
+        }
+        return Arrays.copyOf(values, Math.max(slot + 1, values.length * 2));
+    }
+
+    private static double[] grow(double[] values, int slot) {
+        if (values == null) {
+            return new double[Math.max(slot + 1, RequestAttributeKey.registeredDoubleSlots())];
+        }
+        return Arrays.copyOf(values, Math.max(slot + 1, values.length * 2));
+    }
+
+    private static Object[] grow(Object[] values, int slot) {
+        if (values == null) {
+            return new Object[Math.max(slot + 1, RequestAttributeKey.registeredObjectSlots())];
+        }
+        return Arrays.copyOf(values, Math.max(slot + 1, values.length * 2));
+    }
+}
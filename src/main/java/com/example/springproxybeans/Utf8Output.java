@@ -0,0 +1,80 @@
+package com.example.springproxybeans;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes strings and numbers to an output stream as UTF-8 without creating intermediate Strings:
+ * characters are encoded into a small chunk owned by the call and written out as it fills. Nothing is
+ * cached per thread, so virtual threads do not each keep a buffer alive.
+ */
+public final class Utf8Output {
+
+    private static final int CHUNK = 512;
+
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.UTF_8);
+
+    private Utf8Output() {
+    }
+
+    /**
+     * Writes {@code value} the way string concatenation renders it, so {@code null} becomes "null".
+     */
+    public static void write(OutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.write(NULL);
+            return;
+        }
+        int length = value.length();
+        if (length == 0) {
+            return;
+        }
+        // Three bytes per char covers every encoding, surrogate pairs included (two chars, four bytes).
+        byte[] buffer = new byte[Math.min(CHUNK, length * 3)];
+        int position = 0;
+        for (int i = 0; i < length; i++) {
+            // Flush while there is still room for the longest encoding (4 bytes).
+            if (position > buffer.length - 4) {
+                out.write(buffer, 0, position);
+                position = 0;
+            }
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate: String.getBytes(UTF_8) writes '?' as well.
+                buffer[position++] = '?';
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        out.write(buffer, 0, position);
+    }
+
+    public static void write(OutputStream out, long value) throws IOException {
+        // Works on the negative magnitude, which also covers Long.MIN_VALUE.
+        long remaining = value < 0 ? value : -value;
+        byte[] buffer = new byte[20];
+        int position = buffer.length;
+        do {
+            buffer[--position] = (byte) ('0' - remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        if (value < 0) {
+            buffer[--position] = '-';
+        }
+        out.write(buffer, position, buffer.length - position);
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.springproxybeans.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Generates a {@code <Bean>ScopedAccessor} for every class annotated with
+ * {@code @Scope(WebApplicationContext.SCOPE_REQUEST)}. The accessor is a final subclass of the bean
+ * whose methods look up the current request's instance through a {@code ScopedTargetLookup} and call
+ * it directly, standing in for the CGLIB scoped proxy (see {@code ScopedAccessorRegistrar}).
+ * <p>
+ * Compiled ahead of the application sources by its own compiler execution; it depends on nothing but
+ * the JDK.
+ */
+@SupportedAnnotationTypes(ScopedAccessorProcessor.SCOPE_ANNOTATION)
+public class ScopedAccessorProcessor extends AbstractProcessor {
+
+    static final String SCOPE_ANNOTATION = "org.springframework.context.annotation.Scope";
+
+    private static final String REQUEST_SCOPE = "request";
+    private static final String ACCESSOR_SUFFIX = "ScopedAccessor";
+    private static final String RUNTIME_PACKAGE = "com.example.springproxybeans";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                if (isRequestScoped(type)) {
+                    generate(type);
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isRequestScoped(TypeElement type) {
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(SCOPE_ANNOTATION)) {
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+                    String name = entry.getKey().getSimpleName().toString();
+                    if (("value".equals(name) || "scopeName".equals(name)) && REQUEST_SCOPE.equals(entry.getValue().getValue())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private void generate(TypeElement type) {
+        if (type.getModifiers().contains(Modifier.FINAL) || type.getNestingKind().isNested()
+                || !type.getTypeParameters().isEmpty()) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "No scoped accessor generated: request-scoped beans need to be non-final, non-generic top-level classes", type);
+            return;
+        }
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String beanName = type.getSimpleName().toString();
+        String accessorName = beanName + ACCESSOR_SUFFIX;
+        String lookupType = RUNTIME_PACKAGE + ".ScopedTargetLookup<" + beanName + ">";
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("public final class ").append(accessorName).append(" extends ").append(beanName)
+                .append(" implements ").append(RUNTIME_PACKAGE).append(".ScopedAccessor {\n\n")
+                .append("    private final ").append(lookupType).append(" lookup;\n\n")
+                .append("    public ").append(accessorName).append("(").append(lookupType).append(" lookup) {\n")
+                .append("        this.lookup = lookup;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public ").append(lookupType).append(" scopedTargetLookup() {\n")
+                .append("        return lookup;\n")
+                .append("    }\n");
+        for (ExecutableElement method : delegatedMethods(type)) {
+            appendDelegate(source, method);
+        }
+        source.append("}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(
+                packageName.isEmpty() ? accessorName : packageName + "." + accessorName, type).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write " + accessorName + ": " + e.getMessage(), type);
+        }
+    }
+
+    // Every instance method the accessor can override, most-derived first; Object's are left alone.
+    private List<ExecutableElement> delegatedMethods(TypeElement type) {
+        PackageElement beanPackage = processingEnv.getElementUtils().getPackageOf(type);
+        List<ExecutableElement> methods = new ArrayList<>();
+        Set<String> signatures = new HashSet<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            TypeElement owner = (TypeElement) method.getEnclosingElement();
+            Set<Modifier> modifiers = method.getModifiers();
+            if (owner.getQualifiedName().contentEquals("java.lang.Object")
+                    || modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL)
+                    || modifiers.contains(Modifier.PRIVATE)
+                    || (!modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.PROTECTED)
+                    && !processingEnv.getElementUtils().getPackageOf(owner).equals(beanPackage))) {
+                continue;
+            }
+            String signature = method.getSimpleName() + method.getParameters().stream()
+                    .map(parameter -> processingEnv.getTypeUtils().erasure(parameter.asType()).toString())
+                    .collect(Collectors.joining(",", "(", ")"));
+            if (signatures.add(signature)) {
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+
+    private void appendDelegate(StringBuilder source, ExecutableElement method) {
+        Set<Modifier> modifiers = method.getModifiers();
+        String visibility = modifiers.contains(Modifier.PUBLIC) ? "public "
+                : modifiers.contains(Modifier.PROTECTED) ? "protected " : "";
+        source.append("\n    @Override\n    ").append(visibility);
+        if (!method.getTypeParameters().isEmpty()) {
+            source.append(method.getTypeParameters().stream().map(this::typeParameter)
+                    .collect(Collectors.joining(", ", "<", "> ")));
+        }
+        TypeMirror returnType = method.getReturnType();
+        source.append(returnType).append(' ').append(method.getSimpleName()).append('(');
+        List<String> arguments = new ArrayList<>();
+        List<? extends VariableElement> parameters = method.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            VariableElement parameter = parameters.get(i);
+            String type = parameter.asType().toString();
+            if (method.isVarArgs() && i == parameters.size() - 1) {
+                type = type.substring(0, type.length() - 2) + "...";
+            }
+            source.append(i > 0 ? ", " : "").append(type).append(' ').append(parameter.getSimpleName());
+            arguments.add(parameter.getSimpleName().toString());
+        }
+        source.append(')');
+        if (!method.getThrownTypes().isEmpty()) {
+            source.append(method.getThrownTypes().stream().map(TypeMirror::toString)
+                    .collect(Collectors.joining(", ", " throws ", "")));
+        }
+        source.append(" {\n        ")
+                .append(returnType.getKind() == TypeKind.VOID ? "" : "return ")
+                .append("lookup.get().").append(method.getSimpleName())
+                .append('(').append(String.join(", ", arguments)).append(')')
+                .append(";\n    }\n");
+    }
+
+    private String typeParameter(TypeParameterElement parameter) {
+        List<? extends TypeMirror> bounds = parameter.getBounds();
+        if (bounds.isEmpty() || (bounds.size() == 1 && bounds.get(0).toString().equals("java.lang.Object"))) {
+            return parameter.getSimpleName().toString();
+        }
+        return parameter.getSimpleName() + " extends "
+                + bounds.stream().map(TypeMirror::toString).collect(Collectors.joining(" & "));
+    }
+}
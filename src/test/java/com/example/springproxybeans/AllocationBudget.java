@@ -0,0 +1,40 @@
+package com.example.springproxybeans;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the annotated test when the requests it measures through an injected {@link AllocationMeter}
+ * allocate more than {@link #bytesPerRequest()} on average on the request thread, or when a phase
+ * allocates more than its own budget. The total includes MockMvc and the filter chain, so the phase
+ * budgets are the ones tight enough to catch small regressions in the application's own code.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(AllocationBudgetExtension.class)
+public @interface AllocationBudget {
+
+    long bytesPerRequest();
+
+    /**
+     * Budget of {@link AllocationMeter.Phase#PARSE}; negative means not checked, as for the other phases.
+     */
+    long parse() default -1;
+
+    long scopeResolution() default -1;
+
+    long service() default -1;
+
+    long encoding() default -1;
+
+    /**
+     * Unmeasured requests run first so the JIT has compiled (and escape-analysed) the request path.
+     */
+    int warmup() default 2000;
+
+    int iterations() default 500;
+}
@@ -0,0 +1,83 @@
+package com.example.springproxybeans;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.opentest4j.AssertionFailedError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Supplies the {@link AllocationMeter} of an {@link AllocationBudget} test, logs its per-phase breakdown
+ * and fails the test when the total or a phase budget is exceeded. Tests are skipped on JVMs without per-thread
+ * allocation counters.
+ */
+public class AllocationBudgetExtension implements BeforeEachCallback, ParameterResolver, AfterEachCallback {
+
+    private static final Logger log = LoggerFactory.getLogger(AllocationBudgetExtension.class);
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(AllocationBudgetExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        Assumptions.assumeTrue(AllocationMeter.isSupported(), "per-thread allocation counters are not available");
+        AllocationBudget budget = budget(context);
+        context.getStore(NAMESPACE).put(AllocationMeter.class, new AllocationMeter(budget.warmup(), budget.iterations()));
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == AllocationMeter.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return extensionContext.getStore(NAMESPACE).get(AllocationMeter.class, AllocationMeter.class);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        AllocationMeter meter = context.getStore(NAMESPACE).get(AllocationMeter.class, AllocationMeter.class);
+        if (meter == null || context.getExecutionException().isPresent()) {
+            return;
+        }
+        if (!meter.hasMeasured()) {
+            throw new AssertionFailedError(context.getDisplayName() + " did not measure any request");
+        }
+        long budget = budget(context).bytesPerRequest();
+        log.info("{}: {} bytes/request (budget {}), by phase {}",
+                context.getDisplayName(), meter.bytesPerRequest(), budget, meter.breakdown());
+        if (meter.bytesPerRequest() > budget) {
+            throw new AssertionFailedError(context.getDisplayName() + " allocated " + meter.bytesPerRequest()
+                    + " bytes/request, over its budget of " + budget + "; by phase " + meter.breakdown());
+        }
+        Map<AllocationMeter.Phase, Long> phaseBudgets = phaseBudgets(budget(context));
+        phaseBudgets.forEach((phase, phaseBudget) -> {
+            if (meter.bytesPerRequest(phase) > phaseBudget) {
+                throw new AssertionFailedError(context.getDisplayName() + " allocated " + meter.bytesPerRequest(phase)
+                        + " bytes/request in " + phase + ", over its budget of " + phaseBudget + "; by phase "
+                        + meter.breakdown());
+            }
+        });
+    }
+
+    private static Map<AllocationMeter.Phase, Long> phaseBudgets(AllocationBudget budget) {
+        Map<AllocationMeter.Phase, Long> budgets = new EnumMap<>(AllocationMeter.Phase.class);
+        budgets.put(AllocationMeter.Phase.PARSE, budget.parse());
+        budgets.put(AllocationMeter.Phase.SCOPE_RESOLUTION, budget.scopeResolution());
+        budgets.put(AllocationMeter.Phase.SERVICE, budget.service());
+        budgets.put(AllocationMeter.Phase.ENCODING, budget.encoding());
+        budgets.values().removeIf(phaseBudget -> phaseBudget < 0);
+        return budgets;
+    }
+
+    private static AllocationBudget budget(ExtensionContext context) {
+        return context.getRequiredTestMethod().getAnnotation(AllocationBudget.class);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.springproxybeans;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Measures the bytes a request allocates on its thread, split into phases by the hooks in
+ * {@link AllocationPhaseHooks}. Requests must run on the calling thread (MockMvc does); the hooks
+ * record nothing outside {@link #measure}.
+ */
+public class AllocationMeter {
+
+    public enum Phase {
+        PARSE, SCOPE_RESOLUTION, SERVICE, ENCODING, OTHER
+    }
+
+    @FunctionalInterface
+    public interface Request {
+        void perform() throws Exception;
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadMXBean();
+
+    private static final ThreadLocal<AllocationMeter> RECORDING = new ThreadLocal<>();
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final int warmup;
+    private final int iterations;
+
+    // Per request: the open phases, innermost last, and what each phase has allocated so far. Bytes go to
+    // the innermost open phase only, so a scope lookup made while encoding counts once, as scope resolution.
+    private final Phase[] open = new Phase[PHASES.length * 2];
+    private int depth;
+    private long checkpoint;
+    private final long[] current = new long[PHASES.length];
+    private final long[] sums = new long[PHASES.length];
+    private long totalSum;
+    private int measured;
+
+    AllocationMeter(int warmup, int iterations) {
+        this.warmup = warmup;
+        this.iterations = iterations;
+    }
+
+    static boolean isSupported() {
+        return THREADS != null && THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * Runs the request {@code warmup} times unmeasured, then {@code iterations} times measured.
+     */
+    public void measure(Request request) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            request.perform();
+        }
+        for (int i = 0; i < iterations; i++) {
+            java.util.Arrays.fill(current, 0);
+            depth = 0;
+            RECORDING.set(this);
+            long start = THREADS.getCurrentThreadAllocatedBytes();
+            checkpoint = start;
+            try {
+                request.perform();
+            } finally {
+                long total = THREADS.getCurrentThreadAllocatedBytes() - start;
+                RECORDING.remove();
+                accumulate(total);
+            }
+        }
+    }
+
+    static void enter(Phase phase) {
+        AllocationMeter meter = RECORDING.get();
+        if (meter != null && meter.depth < meter.open.length) {
+            meter.charge();
+            meter.open[meter.depth++] = phase;
+        }
+    }
+
+    static void exit(Phase phase) {
+        AllocationMeter meter = RECORDING.get();
+        if (meter == null) {
+            return;
+        }
+        meter.charge();
+        for (int i = meter.depth - 1; i >= 0; i--) {
+            if (meter.open[i] == phase) {
+                System.arraycopy(meter.open, i + 1, meter.open, i, meter.depth - i - 1);
+                meter.depth--;
+                return;
+            }
+        }
+    }
+
+    // Charges what was allocated since the last enter or exit to the innermost open phase.
+    private void charge() {
+        long now = THREADS.getCurrentThreadAllocatedBytes();
+        if (depth > 0) {
+            current[open[depth - 1].ordinal()] += now - checkpoint;
+        }
+        checkpoint = now;
+    }
+
+    // OTHER is what no phase was open for: filters, dispatch and MockMvc itself.
+    private void accumulate(long total) {
+        long phased = 0;
+        for (Phase phase : PHASES) {
+            if (phase != Phase.OTHER) {
+                phased += current[phase.ordinal()];
+            }
+        }
+        current[Phase.OTHER.ordinal()] = total - phased;
+        for (int i = 0; i < PHASES.length; i++) {
+            sums[i] += current[i];
+        }
+        totalSum += total;
+        measured++;
+    }
+
+    public long bytesPerRequest(Phase phase) {
+        return measured == 0 ? 0 : sums[phase.ordinal()] / measured;
+    }
+
+    boolean hasMeasured() {
+        return measured > 0;
+    }
+
+    public long bytesPerRequest() {
+        return measured == 0 ? 0 : totalSum / measured;
+    }
+
+    public Map<Phase, Long> breakdown() {
+        Map<Phase, Long> breakdown = new EnumMap<>(Phase.class);
+        for (Phase phase : PHASES) {
+            breakdown.put(phase, measured == 0 ? 0 : sums[phase.ordinal()] / measured);
+        }
+        return breakdown;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        return ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads ? threads : null;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.springproxybeans;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.Scope;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.lang.reflect.Type;
+
+/**
+ * Marks the phases of a request for {@link AllocationMeter}:
+ * <ul>
+ * <li>service: from the handler interceptor's preHandle until the response body is about to be written,</li>
+ * <li>parse: reading the request body, within service,</li>
+ * <li>scope resolution: request scope lookups, within service or encoding (the holder is resolved while
+ * its text is written),</li>
+ * <li>encoding: writing the response body, up to postHandle.</li>
+ * </ul>
+ * Phases nest, and each byte is charged to the innermost open phase only.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class AllocationPhaseHooks {
+
+    @Bean
+    public static BeanFactoryPostProcessor measuredRequestScope() {
+        return beanFactory -> {
+            Scope requestScope = beanFactory.getRegisteredScope(WebApplicationContext.SCOPE_REQUEST);
+            beanFactory.registerScope(WebApplicationContext.SCOPE_REQUEST, new MeasuredScope(requestScope));
+        };
+    }
+
+    @Bean
+    public WebMvcConfigurer allocationPhaseInterceptor() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new PhaseInterceptor());
+            }
+        };
+    }
+
+    @Bean
+    public BodyPhaseAdvice allocationBodyPhaseAdvice() {
+        return new BodyPhaseAdvice();
+    }
+
+    static class PhaseInterceptor implements HandlerInterceptor {
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            AllocationMeter.enter(AllocationMeter.Phase.SERVICE);
+            return true;
+        }
+
+        @Override
+        public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                               ModelAndView modelAndView) {
+            AllocationMeter.exit(AllocationMeter.Phase.ENCODING);
+        }
+    }
+
+    @ControllerAdvice
+    static class BodyPhaseAdvice extends RequestBodyAdviceAdapter implements ResponseBodyAdvice<Object> {
+
+        @Override
+        public boolean supports(MethodParameter methodParameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+            return true;
+        }
+
+        @Override
+        public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                               Class<? extends HttpMessageConverter<?>> converterType) {
+            AllocationMeter.enter(AllocationMeter.Phase.PARSE);
+            return inputMessage;
+        }
+
+        @Override
+        public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                    Class<? extends HttpMessageConverter<?>> converterType) {
+            AllocationMeter.exit(AllocationMeter.Phase.PARSE);
+            return body;
+        }
+
+        @Override
+        public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+            return true;
+        }
+
+        @Override
+        public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                      ServerHttpRequest request, ServerHttpResponse response) {
+            AllocationMeter.exit(AllocationMeter.Phase.SERVICE);
+            AllocationMeter.enter(AllocationMeter.Phase.ENCODING);
+            return body;
+        }
+    }
+
+    record MeasuredScope(Scope delegate) implements Scope {
+
+        @Override
+        public Object get(String name, ObjectFactory<?> objectFactory) {
+            AllocationMeter.enter(AllocationMeter.Phase.SCOPE_RESOLUTION);
+            try {
+                return delegate.get(name, objectFactory);
+            } finally {
+                AllocationMeter.exit(AllocationMeter.Phase.SCOPE_RESOLUTION);
+            }
+        }
+
+        @Override
+        public Object remove(String name) {
+            return delegate.remove(name);
+        }
+
+        @Override
+        public void registerDestructionCallback(String name, Runnable callback) {
+            delegate.registerDestructionCallback(name, callback);
+        }
+
+        @Override
+        public Object resolveContextualObject(String key) {
+            return delegate.resolveContextualObject(key);
+        }
+
+        @Override
+        public String getConversationId() {
+            return delegate.getConversationId();
+        }
+    }
+}
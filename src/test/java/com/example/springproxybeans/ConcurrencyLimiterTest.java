@@ -0,0 +1,151 @@
+package com.example.springproxybeans;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.concurrency-limit.enabled=true",
+        "app.concurrency-limit.post.algorithm=aimd"
+})
+@AutoConfigureMockMvc
+public class ConcurrencyLimiterTest {
+
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("getConcurrencyLimiter")
+    private ConcurrencyLimiter getLimiter;
+
+    @Autowired
+    @Qualifier("postConcurrencyLimiter")
+    private ConcurrencyLimiter postLimiter;
+
+    @Test
+    public void testLimiterRejectsAboveLimitAndAdmitsAfterRelease() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", new AimdLimit(2, 1, 10, 100 * MILLI, 0.5));
+
+        int first = limiter.tryAcquire();
+        int second = limiter.tryAcquire();
+        assertThat(limiter.tryAcquire()).isEqualTo(-1);
+
+        limiter.release(MILLI, first, false);
+        assertThat(limiter.tryAcquire()).isPositive();
+        limiter.release(MILLI, second, false);
+
+        ConcurrencyLimiter.Stats stats = limiter.stats();
+        assertThat(stats.accepted()).isEqualTo(3);
+        assertThat(stats.rejected()).isEqualTo(1);
+        assertThat(stats.inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    public void testAimdGrowsWhenBusyAndBacksOffOnSlowRequests() {
+        AimdLimit limit = new AimdLimit(10, 2, 12, 100 * MILLI, 0.5);
+
+        limit.onSample(MILLI, 2, false);
+        assertThat(limit.limit()).isEqualTo(10);
+        for (int i = 0; i < 5; i++) {
+            limit.onSample(MILLI, 10, false);
+        }
+        assertThat(limit.limit()).isEqualTo(12);
+
+        limit.onSample(200 * MILLI, 10, false);
+        assertThat(limit.limit()).isEqualTo(6);
+        for (int i = 0; i < 5; i++) {
+            limit.onSample(MILLI, 6, true);
+        }
+        assertThat(limit.limit()).isEqualTo(2);
+    }
+
+    @Test
+    public void testGradientShrinksWhenLatencyRisesAndRecovers() {
+        GradientLimit limit = new GradientLimit(50, 2, 200, 1.5, 0.2);
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(10 * MILLI, limit.limit(), false);
+        }
+        int steady = limit.limit();
+        assertThat(steady).isGreaterThan(50);
+
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(100 * MILLI, limit.limit(), false);
+        }
+        int overloaded = limit.limit();
+        assertThat(overloaded).isLessThan(steady / 4);
+
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(10 * MILLI, limit.limit(), false);
+        }
+        assertThat(limit.limit()).isGreaterThan(overloaded * 2);
+    }
+
+    @Test
+    public void testGradientDoesNotGrowWhileMostlyIdle() {
+        GradientLimit limit = new GradientLimit(20, 2, 200, 1.5, 0.2);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10 * MILLI, 1, false);
+        }
+
+        assertThat(limit.limit()).isEqualTo(20);
+    }
+
+    @Test
+    public void testFilterRejectsWithRetryAfterWithoutCallingHandler() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", new AimdLimit(1, 1, 1, 100 * MILLI, 0.5));
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, limiter, 2);
+        int held = limiter.tryAcquire();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/data"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(chain.getRequest()).isNull();
+
+        limiter.release(MILLI, held, false);
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/data"), admitted, new MockFilterChain());
+        assertThat(admitted.getStatus()).isEqualTo(200);
+        assertThat(limiter.stats().inFlight()).isZero();
+    }
+
+    @Test
+    public void testFilterPassesOtherMethodsThrough() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", new AimdLimit(1, 1, 1, 100 * MILLI, 0.5));
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, limiter, 1);
+        limiter.tryAcquire();
+
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/api/data"), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    public void testGetAndPostHaveSeparateLimiters() throws Exception {
+        long postAccepted = postLimiter.stats().accepted();
+        long getAccepted = getLimiter.stats().accepted();
+
+        mockMvc.perform(get("/api/data")).andExpect(status().isOk());
+
+        assertThat(getLimiter.stats().accepted()).isEqualTo(getAccepted + 1);
+        assertThat(postLimiter.stats().accepted()).isEqualTo(postAccepted);
+        assertThat(getLimiter).isNotSameAs(postLimiter);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.springproxybeans;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives the POST-then-GET isolation check of the integration tests against /api/data with many
+ * requests in flight at once, using the non-blocking JDK HTTP client so the client side does not
+ * need a thread per connection.
+ */
+public class ConcurrentLoadDriver {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMinutes(2))
+            .build();
+
+    private final String baseUrl;
+
+    public ConcurrentLoadDriver(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Runs {@code users} POST/GET pairs with at most {@code concurrency} of them in flight.
+     */
+    public LoadResult run(int users, int concurrency, Duration timeout) throws Exception {
+        Semaphore inFlight = new Semaphore(concurrency);
+        long[] latencies = new long[users * 2];
+        AtomicInteger recorded = new AtomicInteger();
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Void>> pending = new ArrayList<>(users);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < users; i++) {
+            inFlight.acquire();
+            String data = "load-" + i;
+            long postStart = System.nanoTime();
+            pending.add(client.sendAsync(post(data), HttpResponse.BodyHandlers.ofString())
+                    .thenCompose(postResponse -> {
+                        latencies[recorded.getAndIncrement()] = System.nanoTime() - postStart;
+                        expect(postResponse, "Data set for current request: " + data, failures);
+                        long getStart = System.nanoTime();
+                        return client.sendAsync(get(), HttpResponse.BodyHandlers.ofString())
+                                .thenAccept(getResponse -> {
+                                    latencies[recorded.getAndIncrement()] = System.nanoTime() - getStart;
+                                    expect(getResponse, "No data set for current request", failures);
+                                });
+                    })
+                    .exceptionally(e -> {
+                        failures.add(data + ": " + e);
+                        return null;
+                    })
+                    .whenComplete((ignored, e) -> inFlight.release()));
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        long elapsed = System.nanoTime() - start;
+
+        return new LoadResult(Arrays.copyOf(latencies, recorded.get()), failures, elapsed);
+    }
+
+    private HttpRequest post(String data) {
+        return HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"data\":\"" + data + "\"}"))
+                .build();
+    }
+
+    private HttpRequest get() {
+        return HttpRequest.newBuilder(URI.create(baseUrl)).GET().build();
+    }
+
+    private static void expect(HttpResponse<String> response, String expected, List<String> failures) {
+        if (response.statusCode() != 200 || !expected.equals(response.body())) {
+            failures.add("expected '" + expected + "', got " + response.statusCode() + " '" + response.body() + "'");
+        }
+    }
+
+    public static class LoadResult {
+
+        private final long[] latencies;
+        private final List<String> failures;
+        private final long elapsedNanos;
+
+        LoadResult(long[] latencies, List<String> failures, long elapsedNanos) {
+            this.latencies = latencies;
+            this.failures = failures;
+            this.elapsedNanos = elapsedNanos;
+            Arrays.sort(this.latencies);
+        }
+
+        public int requests() {
+            return latencies.length;
+        }
+
+        public List<String> failures() {
+            return failures;
+        }
+
+        public double throughputPerSecond() {
+            return latencies.length / (elapsedNanos / 1e9);
+        }
+
+        public double percentileMillis(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1e6;
+        }
+
+        public String toJson(String label) {
+            return String.format(java.util.Locale.ROOT,
+                    "{\"mode\":\"%s\",\"requests\":%d,\"failures\":%d,\"throughputPerSecond\":%.1f,"
+                            + "\"p50Millis\":%.3f,\"p99Millis\":%.3f,\"maxMillis\":%.3f}",
+                    label, requests(), failures.size(), throughputPerSecond(),
+                    percentileMillis(50), percentileMillis(99), percentileMillis(100));
+        }
+    }
+}
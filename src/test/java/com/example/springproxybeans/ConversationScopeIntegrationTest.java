@@ -0,0 +1,126 @@
+package com.example.springproxybeans;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.conversation.enabled=true",
+        "app.conversation.file=${java.io.tmpdir}/spring-proxy-beans-test/conversations-${random.uuid}.dat",
+        "app.conversation.capacity=1024"
+})
+@AutoConfigureMockMvc
+public class ConversationScopeIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConversationScope conversationScope;
+
+    @Test
+    public void testStateCarriesAcrossRequestsOfOneConversation() throws Exception {
+        String id = UUID.randomUUID().toString();
+
+        mockMvc.perform(advance(id, "first"))
+                .andExpect(content().string("Conversation " + id + " at step 1: first"));
+        mockMvc.perform(advance(id, "second"))
+                .andExpect(content().string("Conversation " + id + " at step 2: second"));
+
+        mockMvc.perform(get("/api/conversation").header("X-Correlation-Id", id))
+                .andExpect(content().string(startsWith("Step: 2, Data: second, Started at: ")));
+    }
+
+    @Test
+    public void testConversationsAreIsolated() throws Exception {
+        String id = UUID.randomUUID().toString();
+        String other = UUID.randomUUID().toString();
+
+        mockMvc.perform(advance(id, "mine"));
+
+        mockMvc.perform(get("/api/conversation").header("X-Correlation-Id", other))
+                .andExpect(content().string("No state for conversation " + other));
+    }
+
+    @Test
+    public void testEndedConversationStartsOver() throws Exception {
+        String id = UUID.randomUUID().toString();
+        mockMvc.perform(advance(id, "first"));
+
+        mockMvc.perform(delete("/api/conversation").header("X-Correlation-Id", id))
+                .andExpect(content().string("Conversation " + id + " ended"));
+
+        mockMvc.perform(get("/api/conversation").header("X-Correlation-Id", id))
+                .andExpect(content().string("No state for conversation " + id));
+        mockMvc.perform(advance(id, "again"))
+                .andExpect(content().string("Conversation " + id + " at step 1: again"));
+    }
+
+    @Test
+    public void testMissingOrInvalidCorrelationIdIsRejected() throws Exception {
+        mockMvc.perform(get("/api/conversation"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/conversation").header("X-Correlation-Id", "not valid/../id"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testOversizedDataIsRejected() throws Exception {
+        mockMvc.perform(advance(UUID.randomUUID().toString(), "x".repeat(ConversationDataHolder.MAX_DATA_BYTES + 1)))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    public void testBeanNameTooLongForStoreKeyIsRejectedAtRegistration() {
+        // 64-character conversation ID + '/' + 64-character name exceeds the store's 128 key bytes
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        GenericBeanDefinition definition = new GenericBeanDefinition();
+        definition.setBeanClass(ConversationDataHolder.class);
+        definition.setScope(ConversationScope.NAME);
+        beanFactory.registerBeanDefinition("b".repeat(64), definition);
+
+        assertThatThrownBy(() -> conversationScope.register(beanFactory))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("too long");
+    }
+
+    @Test
+    public void testStateIsKeptOffHeapBetweenRequests() throws Exception {
+        String id = UUID.randomUUID().toString();
+        int liveBefore = conversationScope.stats().live();
+
+        mockMvc.perform(advance(id, "stored"));
+
+        assertThat(conversationScope.stats().live()).isEqualTo(liveBefore + 1);
+    }
+
+    @Test
+    public void testRequestScopeIsUnaffected() throws Exception {
+        mockMvc.perform(get("/api/data").header("X-Correlation-Id", UUID.randomUUID().toString()))
+                .andExpect(content().string("No data set for current request"));
+    }
+
+    private static MockHttpServletRequestBuilder advance(String id, String data) {
+        return post("/api/conversation")
+                .header("X-Correlation-Id", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"data\":\"" + data + "\"}");
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.springproxybeans;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConversationStoreTest {
+
+    private static final int HEADER_SIZE = 64;
+    private static final int RECORD_SIZE = 256;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testWriteReadOverwriteAndRemove() throws IOException {
+        try (ConversationStore store = ConversationStore.open(directory.resolve("store.dat"), 64, RECORD_SIZE)) {
+            store.write("c1/bean", payload("first"));
+            store.write("c2/bean", payload("other"));
+            store.write("c1/bean", payload("second"));
+
+            assertThat(text(store.read("c1/bean"))).isEqualTo("second");
+            assertThat(text(store.read("c2/bean"))).isEqualTo("other");
+            assertThat(store.read("c3/bean")).isNull();
+            assertThat(store.stats().live()).isEqualTo(2);
+
+            assertThat(store.remove("c1/bean")).isTrue();
+            assertThat(store.read("c1/bean")).isNull();
+            assertThat(text(store.read("c2/bean"))).isEqualTo("other");
+            assertThat(store.stats().live()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void testRecordsSurviveCleanReopen() throws IOException {
+        Path file = directory.resolve("store.dat");
+        try (ConversationStore store = ConversationStore.open(file, 64, RECORD_SIZE)) {
+            store.write("c1/bean", payload("kept"));
+        }
+        try (ConversationStore store = ConversationStore.open(file, 64, RECORD_SIZE)) {
+            assertThat(text(store.read("c1/bean"))).isEqualTo("kept");
+            assertThat(store.stats().live()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void testDamagedRecordsAreDroppedAfterCrash() throws Exception {
+        Path file = crashedStore();
+
+        try (ConversationStore store = ConversationStore.open(file, 4, RECORD_SIZE)) {
+            assertThat(text(store.read("c0/bean"))).isEqualTo("value-0");
+            assertThat(store.read("c1/bean")).isNull();
+            assertThat(store.read("c2/bean")).isNull();
+            assertThat(text(store.read("c3/bean"))).isEqualTo("value-3");
+            assertThat(store.stats().live()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void testReadOnlyMappingSkipsRecordInterruptedByCrash() throws Exception {
+        Path file = crashedStore();
+
+        try (ConversationStore reader = ConversationStore.openReadOnly(file)) {
+            long start = System.nanoTime();
+            assertThat(reader.read("c2/bean")).isNull();
+            assertThat(text(reader.read("c0/bean"))).isEqualTo("value-0");
+            assertThat(text(reader.read("c3/bean"))).isEqualTo("value-3");
+            assertThat(reader.read("missing/bean")).isNull();
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        }
+    }
+
+    @Test
+    public void testChurnDoesNotAccumulateTombstones() throws IOException {
+        try (ConversationStore store = ConversationStore.open(directory.resolve("store.dat"), 256, RECORD_SIZE)) {
+            for (int i = 0; i < 20_000; i++) {
+                store.write("c" + i + "/bean", payload("value-" + i));
+                if (i >= 64) {
+                    assertThat(store.remove("c" + (i - 64) + "/bean")).isTrue();
+                }
+            }
+            assertThat(store.stats().live()).isEqualTo(64);
+            assertThat(store.tombstones()).isLessThan(64);
+
+            assertThat(store.evictIdle(-1)).isEqualTo(64);
+            assertThat(store.tombstones()).isZero();
+            assertThat(store.stats().evictions()).isZero();
+        }
+    }
+
+    @Test
+    public void testIdleRecordsAreEvicted() throws Exception {
+        try (ConversationStore store = ConversationStore.open(directory.resolve("store.dat"), 64, RECORD_SIZE)) {
+            store.write("idle/bean", payload("idle"));
+            store.write("active/bean", payload("active"));
+            Thread.sleep(50);
+            store.read("active/bean");
+
+            assertThat(store.evictIdle(25)).isEqualTo(1);
+            assertThat(store.read("idle/bean")).isNull();
+            assertThat(text(store.read("active/bean"))).isEqualTo("active");
+        }
+    }
+
+    @Test
+    public void testFullProbeWindowEvictsLeastRecentlyAccessed() throws Exception {
+        try (ConversationStore store = ConversationStore.open(directory.resolve("store.dat"), 4, RECORD_SIZE)) {
+            for (int i = 0; i < 4; i++) {
+                store.write("c" + i + "/bean", payload("value-" + i));
+                Thread.sleep(2);
+            }
+            store.read("c0/bean");
+
+            store.write("c4/bean", payload("value-4"));
+
+            assertThat(store.read("c1/bean")).isNull();
+            assertThat(text(store.read("c0/bean"))).isEqualTo("value-0");
+            assertThat(text(store.read("c4/bean"))).isEqualTo("value-4");
+            assertThat(store.stats().evictions()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void testReadOnlyMappingSeesWrites() throws IOException {
+        Path file = directory.resolve("store.dat");
+        try (ConversationStore writer = ConversationStore.open(file, 64, RECORD_SIZE);
+             ConversationStore reader = ConversationStore.openReadOnly(file)) {
+            writer.write("c1/bean", payload("shared"));
+
+            assertThat(text(reader.read("c1/bean"))).isEqualTo("shared");
+            assertThatThrownBy(() -> reader.write("c1/bean", payload("nope")))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    public void testSecondWriterAndOtherLayoutAreRejected() throws IOException {
+        Path file = directory.resolve("store.dat");
+        try (ConversationStore store = ConversationStore.open(file, 64, RECORD_SIZE)) {
+            assertThatThrownBy(() -> ConversationStore.open(file, 64, RECORD_SIZE)).isInstanceOf(RuntimeException.class);
+        }
+        assertThatThrownBy(() -> ConversationStore.open(file, 128, RECORD_SIZE))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("different layout");
+    }
+
+    @Test
+    public void testRecordSizeBeyondShortLengthsIsRejected() throws IOException {
+        Path file = directory.resolve("store.dat");
+        assertThatThrownBy(() -> ConversationStore.open(file, 4, ConversationStore.MAX_RECORD_SIZE + 8))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        try (ConversationStore store = ConversationStore.open(file, 4, ConversationStore.MAX_RECORD_SIZE)) {
+            assertThat(store.payloadCapacity()).isLessThanOrEqualTo(Short.MAX_VALUE);
+            byte[] large = new byte[store.payloadCapacity()];
+            Arrays.fill(large, (byte) 'x');
+            store.write("c1/bean", ByteBuffer.wrap(large));
+            assertThat(store.read("c1/bean").remaining()).isEqualTo(large.length);
+        }
+    }
+
+    @Test
+    public void testOversizedPayloadIsRejected() throws IOException {
+        try (ConversationStore store = ConversationStore.open(directory.resolve("store.dat"), 64, RECORD_SIZE)) {
+            assertThatThrownBy(() -> store.write("c1/bean", ByteBuffer.allocate(store.payloadCapacity() + 1)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    // A store whose writer crashed after four writes, with one record torn and another left mid-write.
+    private Path crashedStore() throws Exception {
+        Path file = directory.resolve("store.dat");
+        Process writer = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"), CrashingWriter.class.getName(), file.toString())
+                .inheritIO()
+                .start();
+        assertThat(writer.waitFor(60, TimeUnit.SECONDS)).isTrue();
+        assertThat(writer.exitValue()).isEqualTo(CrashingWriter.EXIT_CODE);
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(recordOffset(raw, "c1/bean") + 160);
+            raw.write('X');
+            raw.seek(recordOffset(raw, "c2/bean"));
+            raw.write(1);
+        }
+        return file;
+    }
+
+    private static ByteBuffer payload(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String text(ByteBuffer payload) {
+        return payload == null ? null : StandardCharsets.UTF_8.decode(payload).toString();
+    }
+
+    // Offset of the record whose key bytes (at offset 32 of a record) spell the given key.
+    private static long recordOffset(RandomAccessFile raw, String key) throws IOException {
+        byte[] expected = key.getBytes(StandardCharsets.UTF_8);
+        byte[] actual = new byte[expected.length];
+        for (long offset = HEADER_SIZE; offset + RECORD_SIZE <= raw.length(); offset += RECORD_SIZE) {
+            raw.seek(offset + 32);
+            raw.readFully(actual);
+            if (Arrays.equals(expected, actual)) {
+                return offset;
+            }
+        }
+        throw new IllegalStateException("No record for " + key);
+    }
+
+    // Writes four records and halts the JVM without closing the store, as a crash would.
+    static class CrashingWriter {
+
+        static final int EXIT_CODE = 17;
+
+        public static void main(String[] args) throws IOException {
+            ConversationStore store = ConversationStore.open(Path.of(args[0]), 4, RECORD_SIZE);
+            for (int i = 0; i < 4; i++) {
+                store.write("c" + i + "/bean", payload("value-" + i));
+            }
+            Runtime.getRuntime().halt(EXIT_CODE);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.springproxybeans;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class DataBatchControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final TestRestTemplate restTemplate = new TestRestTemplate();
+
+    @Test
+    public void testJsonArrayBatch() {
+        ResponseEntity<String> response = postBatch(MediaType.APPLICATION_JSON,
+                "[{\"data\":\"a\"},{\"data\":\"b\"},{\"data\":\"c\"}]");
+
+        assertThat(response.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_NDJSON)).isTrue();
+        assertThat(response.getBody().lines().toList()).containsExactly(
+                "{\"index\":0,\"result\":\"Data set for current request: a\"}",
+                "{\"index\":1,\"result\":\"Data set for current request: b\"}",
+                "{\"index\":2,\"result\":\"Data set for current request: c\"}");
+    }
+
+    @Test
+    public void testNdjsonBatch() {
+        ResponseEntity<String> response = postBatch(MediaType.APPLICATION_NDJSON,
+                "{\"data\":\"x\"}\n{\"data\":\"y\"}\n");
+
+        assertThat(response.getBody().lines().toList()).containsExactly(
+                "{\"index\":0,\"result\":\"Data set for current request: x\"}",
+                "{\"index\":1,\"result\":\"Data set for current request: y\"}");
+    }
+
+    @Test
+    public void testLargeNdjsonBatchIsStreamed() {
+        int items = 10_000;
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < items; i++) {
+            body.append("{\"data\":\"item-").append(i).append("\"}\n");
+        }
+
+        List<String> lines = postBatch(MediaType.APPLICATION_NDJSON, body.toString()).getBody().lines().toList();
+
+        assertThat(lines).hasSize(items);
+        assertThat(lines.get(items - 1))
+                .isEqualTo("{\"index\":9999,\"result\":\"Data set for current request: item-9999\"}");
+    }
+
+    @Test
+    public void testMalformedItemEndsBatchWithError() {
+        List<String> lines = postBatch(MediaType.APPLICATION_NDJSON, "{\"data\":\"ok\"}\n{\"data\":\n")
+                .getBody().lines().toList();
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(1)).startsWith("{\"index\":1,\"error\":\"Malformed batch item:");
+    }
+
+    @Test
+    public void testBatchDoesNotLeakIntoFollowingRequest() {
+        postBatch(MediaType.APPLICATION_JSON, "[{\"data\":\"a\"}]");
+
+        assertThat(restTemplate.getForEntity("http://localhost:" + port + "/api/data", String.class).getBody())
+                .isEqualTo("No data set for current request");
+    }
+
+    private ResponseEntity<String> postBatch(MediaType contentType, String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        return restTemplate.postForEntity("http://localhost:" + port + "/api/data/batch",
+                new HttpEntity<>(body, headers), String.class);
+    }
+}
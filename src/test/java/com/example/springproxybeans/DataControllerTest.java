@@ -7,7 +7,12 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -32,6 +37,25 @@ public class DataControllerTest {
                 .andExpect(content().string("Data set for current request: test-value"));
     }
 
+    @Test
+    public void testSetDataEncodesUtf8() throws Exception {
+        mockMvc.perform(post("/api/data")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"data\":\"caf\u00e9 \u65e5\u672c \ud83d\ude00\"}".getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/plain;charset=UTF-8"))
+                .andExpect(content().bytes("Data set for current request: caf\u00e9 \u65e5\u672c \ud83d\ude00"
+                        .getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testOversizedBodyIsRejected() throws Exception {
+        mockMvc.perform(post("/api/data")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"data\":\"" + "x".repeat(64 * 1024) + "\"}"))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
     @Test
     public void testGetDataWhenNoDataSet() throws Exception {
         when(dataService.hasDataInCurrentRequest()).thenReturn(false);
@@ -44,7 +68,11 @@ public class DataControllerTest {
     @Test
     public void testGetDataWhenDataExists() throws Exception {
         when(dataService.hasDataInCurrentRequest()).thenReturn(true);
-        when(dataService.getDataFromCurrentRequest()).thenReturn("Data: test-value, Created at: 1234567890");
+        doAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class)
+                    .write("Data: test-value, Created at: 1234567890".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(dataService).writeDataFromCurrentRequest(any());
 
         mockMvc.perform(get("/api/data"))
                 .andExpect(status().isOk())
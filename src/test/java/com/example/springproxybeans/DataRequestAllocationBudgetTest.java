@@ -0,0 +1,58 @@
+package com.example.springproxybeans;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.scope.ScopedProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+
+/**
+ * Allocation budgets for the {@code /api/data} request path, measured on the MockMvc request thread.
+ * The totals include MockMvc and the filter chain (about 37 KB) and leave 15% headroom. The phase
+ * budgets cover the application's own code and leave a few hundred bytes over the measured values,
+ * so a regression of that size in the holder, the scope lookup or the encoding fails its phase.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(AllocationPhaseHooks.class)
+public class DataRequestAllocationBudgetTest {
+
+    private static final String HOLDER_ATTRIBUTE = ScopedProxyUtils.getTargetBeanName("requestScopedDataHolder");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @AllocationBudget(bytesPerRequest = 55_000, parse = 0, scopeResolution = 3_600, service = 6_000, encoding = 2_300)
+    public void testGetWithoutData(AllocationMeter meter) throws Exception {
+        meter.measure(() -> mockMvc.perform(get("/api/data"))
+                .andExpect(content().string("No data set for current request")));
+    }
+
+    @Test
+    @AllocationBudget(bytesPerRequest = 52_000, parse = 0, scopeResolution = 0, service = 6_000, encoding = 2_500)
+    public void testGetWithData(AllocationMeter meter) throws Exception {
+        RequestScopedDataHolder holder = new RequestScopedDataHolder();
+        holder.setData("budget-value");
+
+        meter.measure(() -> mockMvc.perform(get("/api/data").requestAttr(HOLDER_ATTRIBUTE, holder))
+                .andExpect(content().string(holder.getRequestInfo())));
+    }
+
+    @Test
+    @AllocationBudget(bytesPerRequest = 64_000, parse = 1_200, scopeResolution = 3_600, service = 9_400,
+            encoding = 2_300)
+    public void testPostData(AllocationMeter meter) throws Exception {
+        meter.measure(() -> mockMvc.perform(post("/api/data")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"data\":\"budget-value\"}"))
+                .andExpect(content().string("Data set for current request: budget-value")));
+    }
+}
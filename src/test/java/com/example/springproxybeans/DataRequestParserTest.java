@@ -0,0 +1,78 @@
+package com.example.springproxybeans;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DataRequestParserTest {
+
+    private final DataRequestParser parser = new DataRequestParser(new JsonFactory(), 64);
+
+    @Test
+    public void testReadsDataAndSkipsUnknownFields() throws IOException {
+        assertThat(parse("{\"extra\":{\"nested\":[1,2]},\"data\":\"value\",\"more\":true}").getData()).isEqualTo("value");
+        assertThat(parse("{\"data\":null}").getData()).isNull();
+        assertThat(parse("{\"data\":42}").getData()).isEqualTo("42");
+        assertThat(parse("{}").getData()).isNull();
+    }
+
+    @Test
+    public void testRejectsMalformedBodies() {
+        assertThatThrownBy(() -> parse("{\"data\":{\"x\":1}}")).isInstanceOf(JsonProcessingException.class);
+        assertThatThrownBy(() -> parse("[\"value\"]")).isInstanceOf(JsonProcessingException.class);
+        assertThatThrownBy(() -> parse("{\"data\":\"value\"")).isInstanceOf(JsonProcessingException.class);
+        assertThatThrownBy(() -> parse("")).isInstanceOf(JsonProcessingException.class);
+    }
+
+    @Test
+    public void testBodyAtTheLimitIsAccepted() throws IOException {
+        String body = "{\"data\":\"" + "x".repeat(64 - 11) + "\"}";
+        assertThat(body).hasSize(64);
+
+        assertThat(parse(body).getData()).hasSize(53);
+    }
+
+    @Test
+    public void testDeclaredOversizedBodyIsRejectedBeforeReading() {
+        CountingInputStream body = new CountingInputStream();
+
+        assertThatThrownBy(() -> parser.parse(body, 65)).isInstanceOf(DataRequestTooLargeException.class);
+        assertThat(body.read).isZero();
+    }
+
+    @Test
+    public void testUndeclaredOversizedBodyStopsAtTheLimit() {
+        CountingInputStream body = new CountingInputStream();
+
+        assertThatThrownBy(() -> parser.parse(body, -1)).isInstanceOf(DataRequestTooLargeException.class);
+        assertThat(body.read).isLessThanOrEqualTo(65);
+    }
+
+    private DataController.DataRequest parse(String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return parser.parse(new ByteArrayInputStream(bytes), bytes.length);
+    }
+
+    // An endless {"data":"xxx... body that counts what was read from it.
+    private static final class CountingInputStream extends InputStream {
+
+        private static final byte[] PREFIX = "{\"data\":\"".getBytes(StandardCharsets.UTF_8);
+
+        long read;
+
+        @Override
+        public int read() {
+            int b = read < PREFIX.length ? PREFIX[(int) read] : 'x';
+            read++;
+            return b;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.springproxybeans;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class IsolatedRequestScopeTest {
+
+    @Autowired
+    private IsolatedRequestScope isolatedRequestScope;
+
+    @Autowired
+    private DataService dataService;
+
+    @Autowired
+    private RequestScopedDataHolder requestScopedDataHolder;
+
+    private ServletRequestAttributes attributes;
+
+    @BeforeEach
+    public void startRequest() {
+        attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+    }
+
+    @AfterEach
+    public void completeRequest() {
+        attributes.requestCompleted();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void testEachCallGetsItsOwnHolder() {
+        dataService.setDataForCurrentRequest("outer");
+        Object outerHolder = RequestScopedTargets.peek(requestScopedDataHolder);
+
+        Object first = isolatedRequestScope.call(() -> {
+            assertThat(dataService.hasDataInCurrentRequest()).isFalse();
+            dataService.setDataForCurrentRequest("first");
+            return RequestScopedTargets.peek(requestScopedDataHolder);
+        });
+        Object second = isolatedRequestScope.call(() -> {
+            assertThat(dataService.hasDataInCurrentRequest()).isFalse();
+            return RequestScopedTargets.peek(requestScopedDataHolder);
+        });
+
+        assertThat(first).isNotNull().isNotSameAs(outerHolder).isNotSameAs(second);
+        assertThat(RequestContextHolder.getRequestAttributes()).isSameAs(attributes);
+        assertThat(dataService.getDataFromCurrentRequest()).startsWith("Data: outer,");
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.springproxybeans;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.scope.ScopedProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(properties = "app.request-scope.lazy-reads=true")
+@AutoConfigureMockMvc
+public class LazyRequestScopeReadsTest {
+
+    private static final String HOLDER_ATTRIBUTE = ScopedProxyUtils.getTargetBeanName("requestScopedDataHolder");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testReadOnlyRequestDoesNotCreateHolder() throws Exception {
+        mockMvc.perform(get("/api/data"))
+                .andExpect(content().string("No data set for current request"))
+                .andExpect(request().attribute(HOLDER_ATTRIBUTE, nullValue()));
+    }
+
+    @Test
+    public void testWriteCreatesHolder() throws Exception {
+        mockMvc.perform(post("/api/data")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"data\":\"lazy-value\"}"))
+                .andExpect(content().string("Data set for current request: lazy-value"))
+                .andExpect(request().attribute(HOLDER_ATTRIBUTE, notNullValue()));
+    }
+
+    @Test
+    public void testReadIsStillIsolatedAfterWrite() throws Exception {
+        mockMvc.perform(post("/api/data")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"data\":\"lazy-value\"}"));
+
+        mockMvc.perform(get("/api/data"))
+                .andExpect(content().string("No data set for current request"))
+                .andExpect(request().attribute(HOLDER_ATTRIBUTE, nullValue()));
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.springproxybeans;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class MemoCacheTest {
+
+    @Autowired
+    private DataService dataService;
+
+    @Autowired
+    private MemoCache memoCache;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testRequestTierAnswersRepeatedLookups() {
+        AtomicInteger loads = new AtomicInteger();
+        MemoCache.Stats before = memoCache.stats();
+
+        inRequest(() -> {
+            for (int i = 0; i < 3; i++) {
+                assertThat(dataService.memoize("request-tier", String.class, () -> "v" + loads.incrementAndGet()))
+                        .isEqualTo("v1");
+            }
+        });
+
+        MemoCache.Stats after = memoCache.stats();
+        assertThat(loads).hasValue(1);
+        assertThat(after.misses() - before.misses()).isEqualTo(1);
+        assertThat(after.requestHits() - before.requestHits()).isEqualTo(2);
+    }
+
+    @Test
+    public void testSharedTierServesLaterRequests() {
+        AtomicInteger loads = new AtomicInteger();
+        MemoCache.Stats before = memoCache.stats();
+
+        inRequest(() -> dataService.memoize("shared-tier", Integer.class, loads::incrementAndGet));
+        inRequest(() -> assertThat(dataService.memoize("shared-tier", Integer.class, loads::incrementAndGet))
+                .isEqualTo(1));
+
+        assertThat(loads).hasValue(1);
+        assertThat(memoCache.stats().sharedHits() - before.sharedHits()).isEqualTo(1);
+    }
+
+    @Test
+    public void testConcurrentLoadsOfOneKeyAreSingleFlight() throws Exception {
+        MemoCache cache = new MemoCache(new MemoProperties());
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.get(null, "hot", String.class, () -> {
+                    loads.incrementAndGet();
+                    loading.countDown();
+                    await(release);
+                    return "loaded";
+                })));
+            }
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("loaded");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    public void testSharedTierIsBoundedAndCountsEvictions() {
+        MemoProperties properties = new MemoProperties();
+        properties.setMaximumSize(10);
+        MemoCache cache = new MemoCache(properties);
+
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            cache.get(null, i, Integer.class, () -> value);
+        }
+        cache.cleanUp();
+
+        assertThat(cache.stats().sharedSize()).isLessThanOrEqualTo(10);
+        assertThat(cache.stats().evictions()).isGreaterThanOrEqualTo(90);
+    }
+
+    @Test
+    public void testExpiredEntriesAreReloaded() throws Exception {
+        MemoProperties properties = new MemoProperties();
+        properties.setTtl(Duration.ofMillis(50));
+        MemoCache cache = new MemoCache(properties);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(null, "ttl", Integer.class, loads::incrementAndGet);
+        Thread.sleep(100);
+
+        assertThat(cache.get(null, "ttl", Integer.class, loads::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    public void testFailedLoadsAndNullsAreNotCached() {
+        MemoCache cache = new MemoCache(new MemoProperties());
+
+        assertThatThrownBy(() -> cache.get(null, "failing", String.class, () -> {
+            throw new IllegalStateException("backend down");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.get(null, "null", String.class, () -> null)).isNull();
+
+        assertThat(cache.get(null, "failing", String.class, () -> "recovered")).isEqualTo("recovered");
+        assertThat(cache.get(null, "null", String.class, () -> "present")).isEqualTo("present");
+        assertThat(cache.stats().loadFailures()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFanOutSubtasksReadRequestTier() {
+        AtomicInteger loads = new AtomicInteger();
+
+        inRequest(() -> {
+            dataService.memoize("fan-out", Integer.class, loads::incrementAndGet);
+            memoCache.invalidate("fan-out", Integer.class);
+
+            List<Integer> values = dataService.fanOut(List.of(
+                    () -> dataService.memoize("fan-out", Integer.class, loads::incrementAndGet),
+                    () -> dataService.memoize("fan-out", Integer.class, loads::incrementAndGet)));
+
+            assertThat(values).containsOnly(1);
+        });
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    public void testOneKeyMemoizedAsTwoTypesHoldsTwoValues() {
+        inRequest(() -> {
+            assertThat(dataService.memoize("two-types", String.class, () -> "text")).isEqualTo("text");
+            assertThat(dataService.memoize("two-types", Integer.class, () -> 42)).isEqualTo(42);
+            assertThat(dataService.memoize("two-types", String.class, () -> "reloaded")).isEqualTo("text");
+        });
+        assertThat(memoCache.get(null, "two-types", Integer.class, () -> 0)).isEqualTo(42);
+    }
+
+    @Test
+    public void testRequestTierStoresValuesFromAnotherThreadOfTheRequest() throws Exception {
+        RequestMemo memo = new RequestMemo();
+        memoCache.get(memo, "first-dispatch", String.class, () -> "first");
+
+        ExecutorService asyncDispatch = Executors.newSingleThreadExecutor();
+        try {
+            asyncDispatch.submit(() -> memoCache.get(memo, "second-dispatch", String.class, () -> "second"))
+                    .get(5, TimeUnit.SECONDS);
+        } finally {
+            asyncDispatch.shutdown();
+        }
+
+        assertThat(memo.size()).isEqualTo(2);
+        memo.readOnly().put("ignored", "value");
+        assertThat(memo.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testStatsEndpoint() throws Exception {
+        mockMvc.perform(get("/api/memo/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hitRate").isNumber())
+                .andExpect(jsonPath("$.evictions").isNumber());
+    }
+
+    private static void inRequest(Runnable body) {
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        try {
+            body.run();
+        } finally {
+            attributes.requestCompleted();
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
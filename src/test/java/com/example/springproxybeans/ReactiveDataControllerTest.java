@@ -0,0 +1,96 @@
+package com.example.springproxybeans;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+public class ReactiveDataControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactorRequestScope requestScope;
+
+    @Autowired
+    private DataService dataService;
+
+    @Autowired
+    private RequestScopeSnapshots snapshots;
+
+    @Test
+    public void testRequestIsolation() {
+        webTestClient.get().uri("/api/data").exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("No data set for current request");
+
+        webTestClient.post().uri("/api/data")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"data\":\"reactive-data\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Data set for current request: reactive-data");
+
+        webTestClient.get().uri("/api/data").exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("No data set for current request");
+    }
+
+    @Test
+    public void testConcurrentRequestIsolation() throws Exception {
+        ConcurrentLoadDriver driver = new ConcurrentLoadDriver("http://localhost:" + port + "/api/data");
+
+        ConcurrentLoadDriver.LoadResult result = driver.run(200, 200, Duration.ofMinutes(1));
+
+        assertThat(result.failures()).isEmpty();
+        assertThat(result.requests()).isEqualTo(400);
+    }
+
+    @Test
+    public void testFanOutSubtasksSeeTheExchangesRequestScope() {
+        RequestSlots requestSlots = requestScope.open();
+        try {
+            List<String> results = requestScope.call(() -> {
+                        dataService.setDataForCurrentRequest("reactive-fan-out");
+                        List<Callable<String>> subtasks = List.of(
+                                dataService::getDataFromCurrentRequest, dataService::getDataFromCurrentRequest);
+                        return dataService.fanOut(subtasks);
+                    })
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .contextWrite(context -> context.put(RequestSlots.class, requestSlots))
+                    .block(Duration.ofSeconds(10));
+
+            assertThat(results).hasSize(2).allMatch(result -> result.startsWith("Data: reactive-fan-out"));
+        } finally {
+            requestSlots.close();
+        }
+    }
+
+    @Test
+    public void testSnapshotIsClosedWhenTheExchangeCompletes() {
+        RequestSlots requestSlots = requestScope.open();
+        RequestScopeSnapshot snapshot = requestScope.call(snapshots::capture)
+                .contextWrite(context -> context.put(RequestSlots.class, requestSlots))
+                .block(Duration.ofSeconds(10));
+        assertThat(snapshot.isClosed()).isFalse();
+
+        requestSlots.close();
+
+        assertThat(snapshot.isClosed()).isTrue();
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.springproxybeans;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {"app.fan-out.parallelism=4", "app.fan-out.timeout=2s"})
+public class RequestFanOutTest {
+
+    @Autowired
+    private DataService dataService;
+
+    private ServletRequestAttributes attributes;
+
+    @BeforeEach
+    public void startRequest() {
+        attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+    }
+
+    @AfterEach
+    public void completeRequest() {
+        attributes.requestCompleted();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void testSubtasksSeeParentRequestData() {
+        dataService.setDataForCurrentRequest("parent-data");
+        String expected = dataService.getDataFromCurrentRequest();
+
+        List<Callable<String>> subtasks = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            subtasks.add(() -> dataService.getDataFromCurrentRequest());
+        }
+
+        assertThat(dataService.fanOut(subtasks)).hasSize(16).containsOnly(expected);
+        assertThat(RequestContextHolder.getRequestAttributes()).isSameAs(attributes);
+    }
+
+    @Test
+    public void testSubtasksCannotWriteRequestData() {
+        dataService.setDataForCurrentRequest("parent-data");
+
+        assertThatThrownBy(() -> dataService.fanOut(List.of(() -> {
+            dataService.setDataForCurrentRequest("child-data");
+            return null;
+        }))).isInstanceOf(FanOutException.class).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(dataService.getDataFromCurrentRequest()).startsWith("Data: parent-data,");
+    }
+
+    @Test
+    public void testSubtasksCannotCreateRequestBeans() {
+        assertThatThrownBy(() -> dataService.fanOut(List.of(() -> dataService.hasDataInCurrentRequest())))
+                .isInstanceOf(FanOutException.class)
+                .hasRootCauseMessage("Request scope snapshot is read-only");
+    }
+
+    @Test
+    public void testSnapshotIsClosedWhenParentRequestCompletes() {
+        dataService.setDataForCurrentRequest("parent-data");
+        AtomicReference<RequestScopeSnapshot> snapshot = new AtomicReference<>();
+
+        dataService.fanOut(List.of(() -> {
+            snapshot.set((RequestScopeSnapshot) RequestContextHolder.getRequestAttributes());
+            return null;
+        }));
+        assertThat(snapshot.get().isClosed()).isFalse();
+
+        attributes.requestCompleted();
+        assertThat(snapshot.get().isClosed()).isTrue();
+        assertThatThrownBy(() -> snapshot.get().call(() -> dataService.getDataFromCurrentRequest()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void testNestedFanOutDoesNotStarveThePool() {
+        dataService.setDataForCurrentRequest("parent-data");
+        String expected = dataService.getDataFromCurrentRequest();
+
+        // More outer subtasks than the pool's 4 workers, each waiting on inner subtasks of its own.
+        List<Callable<List<String>>> subtasks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            subtasks.add(() -> dataService.fanOut(List.<Callable<String>>of(
+                    dataService::getDataFromCurrentRequest, dataService::getDataFromCurrentRequest)));
+        }
+
+        long start = System.nanoTime();
+        List<List<String>> results = dataService.fanOut(subtasks);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(results).hasSize(8).allSatisfy(inner -> assertThat(inner).containsExactly(expected, expected));
+    }
+
+    @Test
+    public void testFailingSubtaskInterruptsSiblingsBeforeThrowing() {
+        CountDownLatch siblingStarted = new CountDownLatch(1);
+        AtomicBoolean siblingInterrupted = new AtomicBoolean();
+        AtomicInteger running = new AtomicInteger();
+
+        assertThatThrownBy(() -> dataService.fanOut(List.of(
+                () -> {
+                    running.incrementAndGet();
+                    try {
+                        siblingStarted.countDown();
+                        Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                        return "slept";
+                    } catch (InterruptedException e) {
+                        siblingInterrupted.set(true);
+                        Thread.sleep(100);
+                        throw e;
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                },
+                () -> {
+                    siblingStarted.await(5, TimeUnit.SECONDS);
+                    throw new IllegalStateException("backend down");
+                })))
+                .isInstanceOf(FanOutException.class)
+                .hasRootCauseMessage("backend down");
+
+        assertThat(siblingInterrupted).isTrue();
+        assertThat(running).hasValue(0);
+    }
+
+    @Test
+    public void testTimeoutStopsEverySubtaskBeforeThrowing() {
+        AtomicInteger running = new AtomicInteger();
+        List<Callable<String>> subtasks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            subtasks.add(() -> {
+                running.incrementAndGet();
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                    return "slept";
+                } finally {
+                    Thread.sleep(50);
+                    running.decrementAndGet();
+                }
+            });
+        }
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> dataService.fanOut(subtasks))
+                .isInstanceOf(FanOutException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+
+        assertThat(running).hasValue(0);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(10));
+    }
+}
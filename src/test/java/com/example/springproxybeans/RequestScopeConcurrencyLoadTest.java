@@ -0,0 +1,51 @@
+package com.example.springproxybeans;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The isolation checks of {@link SpringProxyBeansApplicationIntegrationTest} at a configurable number of
+ * concurrent requests ({@code -Drequest-scope.load.concurrency}, 10k under the virtual-threads profile).
+ * Throughput and latency percentiles are written to {@code target/load-results/} per threading mode.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "server.tomcat.accept-count=10000")
+public class RequestScopeConcurrencyLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestScopeConcurrencyLoadTest.class);
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Test
+    public void testRequestIsolationUnderConcurrentLoad() throws Exception {
+        int concurrency = Integer.getInteger("request-scope.load.concurrency", 500);
+        ConcurrentLoadDriver driver = new ConcurrentLoadDriver("http://localhost:" + port + "/api/data");
+
+        ConcurrentLoadDriver.LoadResult result = driver.run(concurrency, concurrency, Duration.ofMinutes(5));
+
+        String mode = virtualThreads && Runtime.version().feature() >= 21 ? "virtual-threads" : "platform-threads";
+        String json = result.toJson(mode);
+        log.info("Request scope load result: {}", json);
+        Path resultDir = Paths.get("target", "load-results");
+        Files.createDirectories(resultDir);
+        Files.writeString(resultDir.resolve("request-scope-" + mode + ".json"), json);
+
+        assertThat(result.failures()).isEmpty();
+        assertThat(result.requests()).isEqualTo(concurrency * 2);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.springproxybeans;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+@SpringBootTest(properties = {
+        "app.request-scope.metrics.enabled=true",
+        "app.request-scope.slots.enabled=true",
+        "app.request-scope.pool.enabled=true"
+})
+@AutoConfigureMockMvc
+public class RequestScopeMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RequestScopeMetrics metrics;
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Test
+    public void testTimedTargetSourceWrapsSlotTargetSource() {
+        Advised proxy = (Advised) beanFactory.getBean("requestScopedDataHolder");
+        assertThat(proxy.getTargetSource()).isInstanceOf(TimedTargetSource.class);
+        assertThat(((TimedTargetSource) proxy.getTargetSource()).getDelegate()).isInstanceOf(SlotTargetSource.class);
+    }
+
+    // Eagerly created for the post-processor; infrastructure beans are exempt from the BeanPostProcessorChecker warning.
+    @Test
+    public void testMetricsBeanIsInfrastructure() {
+        assertThat(beanFactory.getBeanDefinition("requestScopeMetrics").getRole())
+                .isEqualTo(BeanDefinition.ROLE_INFRASTRUCTURE);
+    }
+
+    @Test
+    public void testRequestsAreCountedAndResolutionsTimed() throws Exception {
+        RequestScopeMetrics.Snapshot before = metrics.snapshot();
+
+        mockMvc.perform(post("/api/data")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"data\":\"metered-value\"}"))
+                .andExpect(content().string("Data set for current request: metered-value"));
+        mockMvc.perform(get("/api/data"))
+                .andExpect(content().string("No data set for current request"));
+
+        RequestScopeMetrics.Snapshot after = metrics.snapshot();
+        assertThat(after.created() - before.created()).isEqualTo(2);
+        assertThat(after.destroyed() - before.destroyed()).isEqualTo(2);
+        assertThat(after.live()).isZero();
+        assertThat(after.resolution().count() - before.resolution().count()).isGreaterThanOrEqualTo(2);
+
+        mockMvc.perform(get("/api/scope/metrics"))
+                .andExpect(jsonPath("$.scope.created").value(greaterThanOrEqualTo(2)))
+                .andExpect(jsonPath("$.scope.live").value(0))
+                .andExpect(jsonPath("$.scope.resolution.p99Nanos").exists())
+                .andExpect(jsonPath("$.pool.hitRate").exists());
+    }
+
+    @Test
+    public void testHistogramPercentilesAreWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.count()).isEqualTo(10_000);
+        assertThat(snapshot.maxNanos()).isEqualTo(10_000);
+        assertThat(snapshot.p50Nanos()).isBetween(5_000L, 5_625L);
+        assertThat(snapshot.p99Nanos()).isBetween(9_900L, 11_138L);
+        for (long value : new long[]{0, 7, 8, 15, 16, 1_000, 123_456_789, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.indexOf(value);
+            assertThat(LatencyHistogram.highestValueAt(index)).isGreaterThanOrEqualTo(value);
+            assertThat(index == 0 || LatencyHistogram.highestValueAt(index - 1) < value).isTrue();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.springproxybeans;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+
+@SpringBootTest(properties = "app.request-scope.pool.enabled=true")
+@AutoConfigureMockMvc
+public class RequestScopedDataHolderPoolTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RequestScopedDataHolderPool pool;
+
+    @Autowired
+    private DataService dataService;
+
+    @Test
+    public void testReleasedHolderIsResetBeforeReuse() {
+        RequestScopedDataHolderPool pool = new RequestScopedDataHolderPool(8);
+        RequestScopedDataHolder holder = pool.acquire();
+        holder.setData("stale");
+        pool.release(holder);
+
+        RequestScopedDataHolder reused = pool.acquire();
+
+        assertThat(reused).isSameAs(holder);
+        assertThat(reused.getData()).isNull();
+        assertThat(pool.stats().hits()).isEqualTo(1);
+        assertThat(pool.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    public void testReleasedHolderDropsRequestReferencesWhileIdle() {
+        RequestScopedDataHolderPool pool = new RequestScopedDataHolderPool(8);
+        RequestScopedDataHolder holder = pool.acquire();
+        holder.setData("stale");
+        holder.getAttributes().set(RequestMemo.KEY, new RequestMemo());
+        pool.release(holder);
+
+        assertThat(holder.getData()).isNull();
+        assertThat(holder.getAttributes().get(RequestMemo.KEY)).isNull();
+    }
+
+    @Test
+    public void testCapacityBelowStripeCountIsNotExceeded() {
+        for (int capacity = 1; capacity <= 64; capacity++) {
+            assertThat(new RequestScopedDataHolderPool(capacity).capacity()).isBetween(1, capacity);
+        }
+    }
+
+    @Test
+    public void testDoubleReleaseIsCountedAndIgnored() {
+        RequestScopedDataHolderPool pool = new RequestScopedDataHolderPool(8);
+        RequestScopedDataHolder holder = pool.acquire();
+        pool.release(holder);
+        pool.release(holder);
+
+        assertThat(pool.stats().doubleReleases()).isEqualTo(1);
+        assertThat(pool.acquire()).isSameAs(holder);
+        assertThat(pool.acquire()).isNotSameAs(holder);
+    }
+
+    @Test
+    public void testReleaseBeyondCapacityIsDropped() {
+        RequestScopedDataHolderPool pool = new RequestScopedDataHolderPool(1);
+        RequestScopedDataHolder first = pool.acquire();
+        RequestScopedDataHolder second = pool.acquire();
+        pool.release(first);
+        pool.release(second);
+
+        assertThat(pool.stats().releases()).isEqualTo(2);
+        assertThat(pool.stats().drops()).isEqualTo(1);
+    }
+
+    @Test
+    public void testHolderInUseBySubtaskIsNotRecycled() {
+        RequestScopedDataHolderPool pool = new RequestScopedDataHolderPool(8);
+        RequestScopedDataHolder holder = pool.acquire();
+        holder.setData("parent-data");
+        RequestScopedDataHolderPool.pin(holder);
+
+        pool.release(holder);
+        RequestScopedDataHolderPool.unpin(holder);
+
+        assertThat(holder.getData()).isEqualTo("parent-data");
+        assertThat(pool.acquire()).isNotSameAs(holder);
+        assertThat(pool.stats().retained()).isEqualTo(1);
+        assertThat(pool.stats().releases()).isZero();
+    }
+
+    @Test
+    public void testReleasedHolderCannotBePinned() {
+        RequestScopedDataHolderPool pool = new RequestScopedDataHolderPool(8);
+        RequestScopedDataHolder holder = pool.acquire();
+        pool.release(holder);
+
+        assertThatThrownBy(() -> RequestScopedDataHolderPool.pin(holder))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(pool.acquire()).isSameAs(holder);
+    }
+
+    @Test
+    public void testRequestsReuseHoldersAndStayIsolated() throws Exception {
+        long hitsBefore = pool.stats().hits();
+
+        mockMvc.perform(post("/api/data")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"data\":\"pooled-value\"}"))
+                .andExpect(content().string("Data set for current request: pooled-value"));
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/data"))
+                    .andExpect(content().string("No data set for current request"));
+        }
+
+        assertThat(pool.stats().hits() - hitsBefore).isGreaterThanOrEqualTo(3);
+        assertThat(pool.stats().doubleReleases()).isZero();
+    }
+
+    @Test
+    public void testFanOutSubtasksDoNotKeepHoldersFromPool() {
+        RequestScopedDataHolderPool.Stats before = pool.stats();
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        try {
+            dataService.setDataForCurrentRequest("parent-data");
+            List<Callable<String>> subtasks = List.of(dataService::getDataFromCurrentRequest,
+                    dataService::getDataFromCurrentRequest);
+            assertThat(dataService.fanOut(subtasks)).allMatch(data -> data.startsWith("Data: parent-data,"));
+        } finally {
+            attributes.requestCompleted();
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        assertThat(pool.stats().releases() - before.releases()).isEqualTo(1);
+        assertThat(pool.stats().retained()).isEqualTo(before.retained());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.springproxybeans;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+
+@SpringBootTest(properties = "app.request-scope.accessors.enabled=true")
+@AutoConfigureMockMvc
+public class ScopedAccessorIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RequestScopedDataHolder requestScopedDataHolder;
+
+    @Test
+    public void testGeneratedAccessorReplacesScopedProxy() {
+        assertThat(requestScopedDataHolder).isInstanceOf(RequestScopedDataHolderScopedAccessor.class);
+        assertThat(AopUtils.isAopProxy(requestScopedDataHolder)).isFalse();
+    }
+
+    @Test
+    public void testRequestIsolation() throws Exception {
+        assertIsolated(mockMvc);
+    }
+
+    @Nested
+    @TestPropertySource(properties = {"app.request-scope.slots.enabled=true", "app.request-scope.lazy-reads=true"})
+    public class WithSlotsAndLazyReads {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        public void testRequestIsolation() throws Exception {
+            assertIsolated(mockMvc);
+        }
+    }
+
+    private static void assertIsolated(MockMvc mockMvc) throws Exception {
+        mockMvc.perform(get("/api/data"))
+                .andExpect(content().string("No data set for current request"));
+        mockMvc.perform(post("/api/data")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"data\":\"accessor-value\"}"))
+                .andExpect(content().string("Data set for current request: accessor-value"));
+        mockMvc.perform(get("/api/data"))
+                .andExpect(content().string("No data set for current request"));
+    }
+}
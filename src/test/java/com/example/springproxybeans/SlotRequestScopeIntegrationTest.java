@@ -0,0 +1,98 @@
+package com.example.springproxybeans;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.request-scope.slots.enabled=true")
+public class SlotRequestScopeIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    private final TestRestTemplate restTemplate = new TestRestTemplate();
+
+    @Test
+    public void testSlotScopeReplacesRequestScope() {
+        assertThat(beanFactory.getRegisteredScope(WebApplicationContext.SCOPE_REQUEST))
+                .isInstanceOf(SlotRequestScope.class);
+    }
+
+    @Test
+    public void testScopedProxyReadsFromSlots() {
+        Advised proxy = (Advised) beanFactory.getBean("requestScopedDataHolder");
+        assertThat(proxy.getTargetSource()).isInstanceOf(SlotTargetSource.class);
+    }
+
+    @Test
+    public void testRequestIsolation() {
+        String baseUrl = "http://localhost:" + port + "/api/data";
+
+        assertThat(restTemplate.getForEntity(baseUrl, String.class).getBody())
+                .isEqualTo("No data set for current request");
+        assertThat(post(restTemplate, baseUrl, "slot-data").getBody())
+                .isEqualTo("Data set for current request: slot-data");
+        assertThat(restTemplate.getForEntity(baseUrl, String.class).getBody())
+                .isEqualTo("No data set for current request");
+    }
+
+    @Test
+    public void testConcurrentRequestIsolation() throws Exception {
+        String baseUrl = "http://localhost:" + port + "/api/data";
+        int numberOfConcurrentRequests = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+
+        try {
+            List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < numberOfConcurrentRequests; i++) {
+                final String testData = "slot-test-" + i;
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    TestRestTemplate localRestTemplate = new TestRestTemplate();
+                    boolean postSuccess = ("Data set for current request: " + testData)
+                            .equals(post(localRestTemplate, baseUrl, testData).getBody());
+                    boolean getSuccess = "No data set for current request"
+                            .equals(localRestTemplate.getForEntity(baseUrl, String.class).getBody());
+                    return postSuccess && getSuccess;
+                }, executor));
+            }
+
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+            for (CompletableFuture<Boolean> future : futures) {
+                assertThat(future.get()).isTrue();
+            }
+        } finally {
+            executor.shutdown();
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private static ResponseEntity<String> post(TestRestTemplate restTemplate, String baseUrl, String data) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return restTemplate.postForEntity(baseUrl, new HttpEntity<>("{\"data\":\"" + data + "\"}", headers), String.class);
+    }
+}
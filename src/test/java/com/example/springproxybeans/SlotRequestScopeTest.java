@@ -0,0 +1,134 @@
+package com.example.springproxybeans;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.RequestScope;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SlotRequestScopeTest {
+
+    private DefaultListableBeanFactory beanFactory;
+    private SlotRequestScope scope;
+
+    @BeforeEach
+    public void setUp() {
+        beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerScope(WebApplicationContext.SCOPE_REQUEST, new RequestScope());
+        RootBeanDefinition holder = new RootBeanDefinition(RequestScopedDataHolder.class);
+        holder.setScope(WebApplicationContext.SCOPE_REQUEST);
+        beanFactory.registerBeanDefinition("holder", holder);
+        RootBeanDefinition tracked = new RootBeanDefinition(TrackedBean.class);
+        tracked.setScope(WebApplicationContext.SCOPE_REQUEST);
+        beanFactory.registerBeanDefinition("tracked", tracked);
+
+        scope = new SlotRequestScope();
+        scope.register(beanFactory);
+        TrackedBean.destroyed.set(0);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void testAssignsOneSlotPerRequestScopedBean() {
+        assertThat(scope.slotCount()).isEqualTo(2);
+        assertThat(beanFactory.getRegisteredScope(WebApplicationContext.SCOPE_REQUEST)).isSameAs(scope);
+    }
+
+    @Test
+    public void testSameInstanceWithinRequestAndNewInstanceAcrossRequests() {
+        RequestSlots first = scope.newSlots();
+        RequestSlots previous = scope.bind(first);
+        RequestScopedDataHolder firstHolder = beanFactory.getBean("holder", RequestScopedDataHolder.class);
+        firstHolder.setData("first");
+        assertThat(beanFactory.getBean("holder")).isSameAs(firstHolder);
+        scope.unbind(previous);
+        first.close();
+
+        RequestSlots second = scope.newSlots();
+        previous = scope.bind(second);
+        RequestScopedDataHolder secondHolder = beanFactory.getBean("holder", RequestScopedDataHolder.class);
+        assertThat(secondHolder).isNotSameAs(firstHolder);
+        assertThat(secondHolder.getData()).isNull();
+        scope.unbind(previous);
+        second.close();
+    }
+
+    @Test
+    public void testDestructionCallbacksRunWhenRequestCompletes() {
+        RequestSlots requestSlots = scope.newSlots();
+        RequestSlots previous = scope.bind(requestSlots);
+        beanFactory.getBean("tracked");
+        scope.unbind(previous);
+
+        assertThat(TrackedBean.destroyed).hasValue(0);
+        requestSlots.close();
+        assertThat(TrackedBean.destroyed).hasValue(1);
+        requestSlots.close();
+        assertThat(TrackedBean.destroyed).hasValue(1);
+    }
+
+    @Test
+    public void testRemoveDropsInstanceAndCallback() {
+        RequestSlots requestSlots = scope.newSlots();
+        RequestSlots previous = scope.bind(requestSlots);
+        Object tracked = beanFactory.getBean("tracked");
+        assertThat(scope.remove("tracked")).isSameAs(tracked);
+        assertThat(beanFactory.getBean("tracked")).isNotSameAs(tracked);
+        scope.unbind(previous);
+        requestSlots.close();
+
+        assertThat(TrackedBean.destroyed).hasValue(1);
+    }
+
+    @Test
+    public void testPeekThroughSlotTargetSourceDoesNotCreateInstance() {
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.setTargetSource(new SlotTargetSource(scope, scope.slotOf("holder"), beanFactory, "holder",
+                RequestScopedDataHolder.class));
+        RequestScopedDataHolder proxy = (RequestScopedDataHolder) proxyFactory.getProxy();
+
+        RequestSlots requestSlots = scope.newSlots();
+        RequestSlots previous = scope.bind(requestSlots);
+        assertThat(RequestScopedTargets.peek(proxy)).isNull();
+        proxy.setData("written");
+        assertThat(RequestScopedTargets.peek(proxy)).isSameAs(beanFactory.getBean("holder"));
+        scope.unbind(previous);
+        requestSlots.close();
+    }
+
+    @Test
+    public void testFallsBackToRequestAttributesWithoutBoundSlots() {
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+
+        Object holder = beanFactory.getBean("holder");
+        assertThat(attributes.getAttribute("holder", ServletRequestAttributes.SCOPE_REQUEST)).isSameAs(holder);
+        attributes.requestCompleted();
+    }
+
+    public static class TrackedBean implements DisposableBean {
+
+        static final AtomicInteger destroyed = new AtomicInteger();
+
+        @Override
+        public void destroy() {
+            destroyed.incrementAndGet();
+        }
+    }
+}
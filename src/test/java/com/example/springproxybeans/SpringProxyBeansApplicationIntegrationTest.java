@@ -96,7 +96,7 @@ public class SpringProxyBeansApplicationIntegrationTest {
     }
 
     @Test
-    public void testConcurrentRequestIsolation() throws Exception {
+    public void testConcurrentPostThenGetIsolation() throws Exception {
         String baseUrl = "http://localhost:" + port + "/api/data";
         int numberOfConcurrentRequests = 10;
         ExecutorService executor = Executors.newFixedThreadPool(numberOfConcurrentRequests);
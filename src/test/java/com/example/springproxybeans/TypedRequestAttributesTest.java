@@ -0,0 +1,143 @@
+package com.example.springproxybeans;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+public class TypedRequestAttributesTest {
+
+    private static final RequestAttributeKey.LongKey USER_ID = RequestAttributeKey.ofLong("test.user-id");
+    private static final RequestAttributeKey.IntKey RETRIES = RequestAttributeKey.ofInt("test.retries");
+    private static final RequestAttributeKey.DoubleKey SCORE = RequestAttributeKey.ofDouble("test.score");
+    private static final RequestAttributeKey.ObjectKey<String> TENANT = RequestAttributeKey.of("test.tenant", String.class);
+
+    @Autowired
+    private DataService dataService;
+
+    @Test
+    public void testTypedValuesRoundTrip() {
+        TypedAttributeStore store = new TypedAttributeStore();
+        store.setLong(USER_ID, 42L);
+        store.setInt(RETRIES, 3);
+        store.setDouble(SCORE, 0.5);
+        store.set(TENANT, "acme");
+
+        assertThat(store.getLong(USER_ID, -1L)).isEqualTo(42L);
+        assertThat(store.getInt(RETRIES, -1)).isEqualTo(3);
+        assertThat(store.getDouble(SCORE, -1.0)).isEqualTo(0.5);
+        assertThat(store.get(TENANT)).isEqualTo("acme");
+    }
+
+    @Test
+    public void testUnsetAttributesReturnDefaults() {
+        TypedAttributeStore store = new TypedAttributeStore();
+        store.setLong(USER_ID, 0L);
+
+        assertThat(store.contains(USER_ID)).isTrue();
+        assertThat(store.getLong(USER_ID, -1L)).isZero();
+        assertThat(store.contains(RETRIES)).isFalse();
+        assertThat(store.getInt(RETRIES, -1)).isEqualTo(-1);
+        assertThat(store.get(TENANT)).isNull();
+    }
+
+    @Test
+    public void testRemoveAndClear() {
+        TypedAttributeStore store = new TypedAttributeStore();
+        store.setLong(USER_ID, 42L);
+        store.set(TENANT, "acme");
+
+        store.remove(USER_ID);
+        assertThat(store.contains(USER_ID)).isFalse();
+        assertThat(store.get(TENANT)).isEqualTo("acme");
+
+        store.set(TENANT, null);
+        assertThat(store.contains(TENANT)).isFalse();
+
+        store.setInt(RETRIES, 3);
+        store.clear();
+        assertThat(store.contains(RETRIES)).isFalse();
+    }
+
+    @Test
+    public void testKeysAreRegisteredOncePerName() {
+        assertThat(RequestAttributeKey.ofLong("test.user-id")).isSameAs(USER_ID);
+        assertThat(RequestAttributeKey.of("test.tenant", String.class)).isSameAs(TENANT);
+        assertThatThrownBy(() -> RequestAttributeKey.ofInt("test.user-id"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testKeysRegisteredAfterFirstWriteStillFit() {
+        TypedAttributeStore store = new TypedAttributeStore();
+        store.setLong(USER_ID, 1L);
+        for (int i = 0; i < 70; i++) {
+            store.setLong(RequestAttributeKey.ofLong("test.late-" + i), i);
+        }
+
+        assertThat(store.getLong(RequestAttributeKey.ofLong("test.late-69"), -1L)).isEqualTo(69L);
+        assertThat(store.getLong(USER_ID, -1L)).isEqualTo(1L);
+    }
+
+    @Test
+    public void testPoolResetClearsAttributes() {
+        RequestScopedDataHolderPool pool = new RequestScopedDataHolderPool(8);
+        RequestScopedDataHolder holder = pool.acquire();
+        holder.getAttributes().setLong(USER_ID, 42L);
+        holder.getAttributes().set(TENANT, "acme");
+        pool.release(holder);
+
+        RequestScopedDataHolder reused = pool.acquire();
+
+        assertThat(reused).isSameAs(holder);
+        assertThat(reused.getAttributes().contains(USER_ID)).isFalse();
+        assertThat(reused.getAttributes().get(TENANT)).isNull();
+    }
+
+    @Test
+    public void testAttributesAreIsolatedPerRequest() {
+        inRequest(() -> {
+            dataService.setLongAttribute(USER_ID, 42L);
+            dataService.setAttribute(TENANT, "acme");
+            assertThat(dataService.getLongAttribute(USER_ID, -1L)).isEqualTo(42L);
+            assertThat(dataService.getAttribute(TENANT)).isEqualTo("acme");
+        });
+
+        inRequest(() -> {
+            assertThat(dataService.hasAttribute(USER_ID)).isFalse();
+            assertThat(dataService.getAttribute(TENANT)).isNull();
+        });
+    }
+
+    @Test
+    public void testFanOutSubtasksReadButCannotWriteAttributes() {
+        inRequest(() -> {
+            dataService.setIntAttribute(RETRIES, 3);
+
+            assertThat(dataService.fanOut(List.of(() -> dataService.getIntAttribute(RETRIES, -1)))).containsExactly(3);
+            assertThatThrownBy(() -> dataService.fanOut(List.of(() -> {
+                dataService.setIntAttribute(RETRIES, 4);
+                return null;
+            }))).hasRootCauseInstanceOf(IllegalStateException.class);
+        });
+    }
+
+    private static void inRequest(Runnable body) {
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        try {
+            body.run();
+        } finally {
+            attributes.requestCompleted();
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
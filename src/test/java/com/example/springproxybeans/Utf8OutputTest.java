@@ -0,0 +1,39 @@
+package com.example.springproxybeans;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Utf8OutputTest {
+
+    @Test
+    public void testStringsEncodeLikeGetBytes() throws IOException {
+        String[] values = {"", "ascii-value", "café", "日本語", "emoji 😀", "x".repeat(5000) + "é"};
+        for (String value : values) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Utf8Output.write(out, value);
+            assertThat(out.toByteArray()).isEqualTo(value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testUnpairedSurrogateIsReplaced() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Utf8Output.write(out, "a\uD800b");
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("a?b");
+    }
+
+    @Test
+    public void testNumbersRenderLikeToString() throws IOException {
+        long[] values = {0, 7, -7, 10, -10, 1_700_000_000_000L, Long.MAX_VALUE, Long.MIN_VALUE};
+        for (long value : values) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Utf8Output.write(out, value);
+            assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(Long.toString(value));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.springproxybeans;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the same /api/data load against the servlet (Tomcat) and the reactive (Netty) stack, one after
+ * the other in this JVM, and reports throughput, p99 latency, threads added under load and heap growth per
+ * in-flight connection ({@code -Dweb-stack.load.concurrency}, 200 by default). Results go to
+ * {@code target/load-results/web-stacks.json}; the heap figure includes the client side, which is
+ * the same for both stacks.
+ */
+public class WebStackLoadComparisonTest {
+
+    private static final Logger log = LoggerFactory.getLogger(WebStackLoadComparisonTest.class);
+
+    @Test
+    public void testServletAndReactiveStacksUnderSameLoad() throws Exception {
+        int concurrency = Integer.getInteger("web-stack.load.concurrency", 200);
+
+        String servlet = runAgainst("servlet", concurrency);
+        String reactive = runAgainst("reactive", concurrency);
+
+        String json = "[" + servlet + "," + reactive + "]";
+        log.info("Web stack comparison: {}", json);
+        Path resultDir = Paths.get("target", "load-results");
+        Files.createDirectories(resultDir);
+        Files.writeString(resultDir.resolve("web-stacks.json"), json);
+    }
+
+    private String runAgainst(String webApplicationType, int concurrency) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringProxyBeansApplication.class)
+                .properties("server.port=0", "spring.main.web-application-type=" + webApplicationType,
+                        "server.tomcat.accept-count=10000")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            ConcurrentLoadDriver driver = new ConcurrentLoadDriver("http://localhost:" + port + "/api/data");
+            driver.run(Math.min(concurrency, 100), Math.min(concurrency, 100), Duration.ofMinutes(1));
+
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            System.gc();
+            long baselineHeap = memory.getHeapMemoryUsage().getUsed();
+            AtomicLong peakHeap = new AtomicLong(baselineHeap);
+            int baselineThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+            AtomicLong peakThreads = new AtomicLong(baselineThreads);
+            ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+            sampler.scheduleAtFixedRate(() -> {
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                peakThreads.accumulateAndGet(ManagementFactory.getThreadMXBean().getThreadCount(), Math::max);
+            }, 0, 10, TimeUnit.MILLISECONDS);
+            ConcurrentLoadDriver.LoadResult result;
+            try {
+                result = driver.run(concurrency, concurrency, Duration.ofMinutes(5));
+            } finally {
+                sampler.shutdownNow();
+            }
+
+            assertThat(result.failures()).isEmpty();
+            return String.format(Locale.ROOT,
+                    "{\"stack\":\"%s\",\"concurrency\":%d,\"throughputPerSecond\":%.1f,\"p99Millis\":%.3f,"
+                            + "\"addedThreads\":%d,\"heapBytesPerConnection\":%d}",
+                    webApplicationType, concurrency, result.throughputPerSecond(), result.percentileMillis(99),
+                    peakThreads.get() - baselineThreads, (peakHeap.get() - baselineHeap) / concurrency);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.springproxybeans;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the app twice in this JVM, once with Tomcat on platform threads and once on virtual threads,
+ * runs the same request-scope POST-then-GET load against each and writes both results with the virtual/platform ratios
+ * side by side to {@code target/load-results/request-scope-comparison.json}. Concurrency comes from
+ * {@code -Drequest-scope.load.concurrency}, as in RequestScopeConcurrencyLoadTest.
+ */
+public class ThreadingModeLoadComparisonTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingModeLoadComparisonTest.class);
+
+    @Test
+    public void testPlatformAndVirtualThreadsUnderSameLoad() throws Exception {
+        int concurrency = Integer.getInteger("request-scope.load.concurrency", 500);
+
+        try (ConfigurableApplicationContext platformContext = start(false);
+             ConfigurableApplicationContext virtualContext = start(true)) {
+            ConcurrentLoadDriver platformDriver = driverFor(platformContext);
+            ConcurrentLoadDriver virtualDriver = driverFor(virtualContext);
+            // Warm both up before measuring either, so the second mode does not run on a hotter JIT.
+            for (ConcurrentLoadDriver driver : new ConcurrentLoadDriver[] {platformDriver, virtualDriver}) {
+                driver.run(Math.min(concurrency, 100), Math.min(concurrency, 100), Duration.ofMinutes(1));
+            }
+
+            ConcurrentLoadDriver.LoadResult platform = measure(platformDriver, concurrency);
+            ConcurrentLoadDriver.LoadResult virtual = measure(virtualDriver, concurrency);
+
+            String json = String.format(Locale.ROOT,
+                    "{\"concurrency\":%d,\"platform\":%s,\"virtual\":%s,"
+                            + "\"throughputRatio\":%.2f,\"p50Ratio\":%.2f,\"p99Ratio\":%.2f}",
+                    concurrency, platform.toJson("platform-threads"), virtual.toJson("virtual-threads"),
+                    virtual.throughputPerSecond() / platform.throughputPerSecond(),
+                    virtual.percentileMillis(50) / platform.percentileMillis(50),
+                    virtual.percentileMillis(99) / platform.percentileMillis(99));
+            log.info("Threading mode comparison: {}", json);
+            Path resultDir = Paths.get("target", "load-results");
+            Files.createDirectories(resultDir);
+            Files.writeString(resultDir.resolve("request-scope-comparison.json"), json);
+        }
+    }
+
+    // Command-line arguments, so they win over application.properties and the profile's system properties.
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        return new SpringApplicationBuilder(SpringProxyBeansApplication.class)
+                .run("--server.port=0", "--server.tomcat.accept-count=10000",
+                        "--spring.threads.virtual.enabled=" + virtualThreads);
+    }
+
+    private static ConcurrentLoadDriver driverFor(ConfigurableApplicationContext context) {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return new ConcurrentLoadDriver("http://localhost:" + port + "/api/data");
+    }
+
+    private static ConcurrentLoadDriver.LoadResult measure(ConcurrentLoadDriver driver, int concurrency)
+            throws Exception {
+        ConcurrentLoadDriver.LoadResult result = driver.run(concurrency, concurrency, Duration.ofMinutes(5));
+        assertThat(result.failures()).isEmpty();
+        assertThat(result.requests()).isEqualTo(concurrency * 2);
+        return result;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.springproxybeans;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Resolves the request-scoped holder from virtual threads that park between the write and the read,
+ * both unpinned (free to resume on another carrier) and pinned inside a monitor. Half of the
+ * requests bind a slot table the way SlotRequestScopeFilter does, the other half only the request
+ * attributes, so both request-scope stores are covered.
+ */
+@SpringBootTest(properties = "app.request-scope.slots.enabled=true")
+public class VirtualThreadRequestScopeTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadRequestScopeTest.class);
+
+    private static final int REQUESTS = 2_000;
+
+    @Autowired
+    private DataService dataService;
+
+    @Autowired
+    private RequestScopedDataHolder requestScopedDataHolder;
+
+    @Autowired
+    private SlotRequestScope slotRequestScope;
+
+    @Test
+    public void testParkedVirtualThreadsResolveTheirOwnRequest() throws Exception {
+        AtomicInteger carrierChanges = new AtomicInteger();
+        assertThat(runRequests(false, carrierChanges)).isEqualTo(REQUESTS);
+        // Without this the test would pass even if no request ever left its original carrier.
+        assertThat(carrierChanges.get()).isGreaterThan(0);
+    }
+
+    @Test
+    public void testPinnedVirtualThreadsResolveTheirOwnRequest() throws Exception {
+        assertThat(runRequests(true, new AtomicInteger())).isEqualTo(REQUESTS);
+    }
+
+    private int runRequests(boolean pinned, AtomicInteger carrierChanges) throws Exception {
+        List<Future<Boolean>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < REQUESTS; i++) {
+                String data = "virtual-" + i;
+                boolean withSlots = i % 2 == 0;
+                results.add(executor.submit(() -> handleRequest(data, withSlots, pinned, carrierChanges)));
+            }
+        }
+        int succeeded = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(1, TimeUnit.MINUTES)) {
+                succeeded++;
+            }
+        }
+        log.info("{} virtual-thread requests ({}), {} resumed on a different carrier",
+                REQUESTS, pinned ? "pinned" : "unpinned", carrierChanges.get());
+        return succeeded;
+    }
+
+    private boolean handleRequest(String data, boolean withSlots, boolean pinned, AtomicInteger carrierChanges) {
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        RequestSlots requestSlots = withSlots ? slotRequestScope.newSlots() : null;
+        RequestSlots previous = withSlots ? slotRequestScope.bind(requestSlots) : null;
+        try {
+            dataService.setDataForCurrentRequest(data);
+            Object before = RequestScopedTargets.peek(requestScopedDataHolder);
+            String carrierBefore = carrier();
+            if (pinned) {
+                // A monitor of its own: the task pins its carrier without queueing behind the other tasks.
+                Object monitor = new Object();
+                synchronized (monitor) {
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+                }
+            } else {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(2));
+            }
+            if (!carrier().equals(carrierBefore)) {
+                carrierChanges.incrementAndGet();
+            }
+            return before == RequestScopedTargets.peek(requestScopedDataHolder)
+                    && dataService.hasDataInCurrentRequest()
+                    && dataService.getDataFromCurrentRequest().startsWith("Data: " + data + ",");
+        } finally {
+            if (withSlots) {
+                slotRequestScope.unbind(previous);
+                requestSlots.close();
+            }
+            attributes.requestCompleted();
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    // A virtual thread prints as VirtualThread[#id]/runnable@ForkJoinPool-1-worker-N.
+    private static String carrier() {
+        String name = Thread.currentThread().toString();
+        int at = name.lastIndexOf('@');
+        return at >= 0 ? name.substring(at + 1) : name;
+    }
+}
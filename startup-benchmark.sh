@@ -0,0 +1,88 @@
+#!/bin/bash
+
+# Startup benchmark for Spring Proxy Beans application
+# Compares the standard, AOT and AOT+CDS launch modes. The standard mode runs a jar from a
+# regular build: the `mvn -Paot-cds package` jar contains the AOT-generated initializers and
+# pre-generated CGLIB proxies, which Spring would load even without -Dspring.aot.enabled.
+# For each mode it reports the time until the first successful GET /api/data and the
+# resident set size of the JVM at that point.
+#
+# Usage: ./startup-benchmark.sh [runs]   (default: 5 runs per mode)
+
+RUNS=${1:-5}
+PORT=${PORT:-8080}
+URL="http://localhost:${PORT}/api/data"
+JAR=target/spring-proxy-beans-0.0.1-SNAPSHOT.jar
+STANDARD_JAR=target/standard/spring-proxy-beans-0.0.1-SNAPSHOT.jar
+ARCHIVE=target/application.jsa
+LOG=target/startup-benchmark.log
+
+if [ ! -f "$STANDARD_JAR" ] || [ ! -f "$JAR" ] || [ ! -f "$ARCHIVE" ] || [ ! -f target/classpath.txt ]; then
+    # Both builds start from `clean`, so the standard jar is kept outside target/ in between
+    STANDARD_COPY=$(mktemp -d) || exit 1
+    trap 'rm -rf "$STANDARD_COPY"' EXIT
+    echo "Building the standard jar..."
+    mvn -B -q clean -DskipTests package || exit 1
+    cp "$JAR" "$STANDARD_COPY/" || exit 1
+    echo "Building with the aot-cds profile..."
+    mvn -B -q clean -Paot-cds -DskipTests package || exit 1
+    mkdir -p "$(dirname "$STANDARD_JAR")" && cp "$STANDARD_COPY/$(basename "$JAR")" "$STANDARD_JAR" || exit 1
+fi
+
+# CDS only maps classes loaded from the exact classpath used by the training run; both builds
+# have the same dependencies, so the standard jar uses the same dependency classpath
+DEPENDENCIES=$(cat target/classpath.txt)
+MAIN=com.example.springproxybeans.SpringProxyBeansApplication
+
+now_ms() {
+    date +%s%3N
+}
+
+# Starts the JVM from the given jar with the given options, polls GET /api/data until it
+# answers 200 and prints "<milliseconds> <rss kB>".
+measure() {
+    local jar=$1 start pid elapsed rss
+    shift
+    start=$(now_ms)
+    java "$@" -Dserver.port="$PORT" -cp "$jar:$DEPENDENCIES" "$MAIN" > "$LOG" 2>&1 &
+    pid=$!
+
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "$URL")" = "200" ]; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Application exited before serving $URL, see $LOG" >&2
+            return 1
+        fi
+        sleep 0.01
+    done
+    elapsed=$(( $(now_ms) - start ))
+    rss=$(awk '/^VmRSS:/ { print $2 }' "/proc/$pid/status")
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null
+    echo "$elapsed $rss"
+}
+
+run_mode() {
+    local name=$1 jar=$2
+    shift 2
+    local total_ms=0 total_rss=0 result ms rss
+
+    echo ""
+    echo "=== $name ==="
+    for i in $(seq 1 "$RUNS"); do
+        result=$(measure "$jar" "$@") || exit 1
+        read -r ms rss <<< "$result"
+        echo "  run $i: first GET /api/data after ${ms} ms, RSS ${rss} kB"
+        total_ms=$((total_ms + ms))
+        total_rss=$((total_rss + rss))
+    done
+    echo "  mean: $((total_ms / RUNS)) ms, RSS $((total_rss / RUNS)) kB"
+}
+
+echo "=== Spring Proxy Beans Startup Benchmark ($RUNS runs per mode) ==="
+
+run_mode "Standard" "$STANDARD_JAR"
+run_mode "AOT" "$JAR" -Dspring.aot.enabled=true
+run_mode "AOT + CDS" "$JAR" -Dspring.aot.enabled=true -XX:SharedArchiveFile="$ARCHIVE"
+
+rm -f "$LOG"